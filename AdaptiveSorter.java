@@ -0,0 +1,178 @@
+import java.io.IOException;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * A Sorter that samples its input and hands it to the engine expected to be fastest, with the
+ * crossover points taken from SortThresholds (measured on the host, or the defaults).
+ * Features:
+ * - Below radixThreshold elements: MergeSort with the calibrated cutoff. Its merge skip already
+ *   makes sorted input cheap, and sampling would cost more than it saves.
+ * - Presortedness: SAMPLE_WINDOWS windows of WINDOW consecutive elements, spread over the
+ *   range, count the neighbours that follow each window's majority direction. Ascending and
+ *   descending stretches both count, since the adaptive MergeSort reverses descending runs.
+ *   At or above presortedThreshold the adaptive (natural run) MergeSort is used.
+ * - Duplicate ratio: 1 - distinct / sampled over DUPLICATE_SAMPLE evenly spaced elements.
+ *   At or above duplicateThreshold QuickSort's three-way mode is used, which never recurses
+ *   into runs of equal keys.
+ * - Otherwise RadixSort.
+ * - Sampling reads about 1.3K elements and allocates one small array, whatever the size.
+ * The ordering of NaN and -0.0 depends on the engine chosen (see SortDispatcher), so inputs
+ * with NaN should be filtered first. Instances keep no mutable state and can be shared.
+ */
+public class AdaptiveSorter implements Sorter {
+
+    // Number and length of the windows sampled for presortedness.
+    private static final int SAMPLE_WINDOWS = 32;
+    private static final int WINDOW = 32;
+
+    // Number of elements sampled for the duplicate ratio.
+    private static final int DUPLICATE_SAMPLE = 256;
+
+    private final SortThresholds thresholds;
+    private final Sorter small;
+    private final Sorter presorted;
+    private final Sorter duplicates;
+    private final Sorter large;
+
+    /**
+     * Creates a sorter with SortThresholds.DEFAULTS.
+     */
+    public AdaptiveSorter() {
+        this(SortThresholds.DEFAULTS);
+    }
+
+    /**
+     * Creates a sorter with the given thresholds.
+     * @param thresholds The crossover points between the engines.
+     */
+    public AdaptiveSorter(SortThresholds thresholds) {
+        this.thresholds = Objects.requireNonNull(thresholds);
+        this.small = MergeSort.sorter(thresholds.getMergeCutoff());
+        this.presorted = MergeSort.adaptiveSorter();
+        this.duplicates = QuickSort.threeWaySorter();
+        this.large = RadixSort.sorter();
+    }
+
+    /**
+     * Creates a sorter with the thresholds cached in SortThresholds.defaultFile(), calibrating
+     * once (a few seconds) if there is no cache for this host yet.
+     * @return The sorter.
+     * @throws IOException If the cache file cannot be written.
+     */
+    public static AdaptiveSorter calibrated() throws IOException {
+        return new AdaptiveSorter(SortThresholds.loadOrCalibrate(SortThresholds.defaultFile()));
+    }
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        choose(arr, from, to).sort(arr, from, to);
+    }
+
+    /**
+     * Returns the engine sort would use for arr[from..to), without sorting.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @return The chosen engine.
+     */
+    public Sorter choose(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (to - from < thresholds.getRadixThreshold()) {
+            return small;
+        }
+        if (sortedness(arr, from, to) >= thresholds.getPresortedThreshold()) {
+            return presorted;
+        }
+        if (duplicateRatio(arr, from, to) >= thresholds.getDuplicateThreshold()) {
+            return duplicates;
+        }
+        return large;
+    }
+
+    /**
+     * @return The thresholds this sorter dispatches on.
+     */
+    public SortThresholds getThresholds() {
+        return thresholds;
+    }
+
+    @Override
+    public String name() {
+        return "AdaptiveSorter";
+    }
+
+    /**
+     * Estimates how sorted arr[from..to) is: the fraction of sampled neighbour pairs that follow
+     * the majority direction of their window. Sorted, reversed and organ-pipe input give 1.0,
+     * random input about 0.57.
+     */
+    static double sortedness(double[] arr, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return 1.0;
+        }
+        int windows = Math.min(SAMPLE_WINDOWS, Math.max(1, n / WINDOW));
+        int length = Math.min(WINDOW, n);
+        long agreeing = 0;
+        for (int w = 0; w < windows; w++) {
+            int start = from + (windows == 1 ? 0 : (int) ((long) w * (n - length) / (windows - 1)));
+            int ascending = 0;
+            for (int i = start; i < start + length - 1; i++) {
+                ascending += arr[i] <= arr[i + 1] ? 1 : 0;
+            }
+            agreeing += Math.max(ascending, length - 1 - ascending);
+        }
+        return (double) agreeing / ((long) windows * (length - 1));
+    }
+
+    /**
+     * Estimates the duplicate ratio of arr[from..to) as 1 - distinct / sampled over up to
+     * DUPLICATE_SAMPLE evenly spaced elements. Distinct values give about 0, eight values
+     * repeated over a large array about 0.97.
+     */
+    static double duplicateRatio(double[] arr, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return 0.0;
+        }
+        int count = Math.min(DUPLICATE_SAMPLE, n);
+        double[] sample = new double[count];
+        for (int i = 0; i < count; i++) {
+            sample[i] = arr[from + (int) ((long) i * n / count)];
+        }
+        QuickSort.sortNoShuffle(sample);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            distinct += sample[i] != sample[i - 1] ? 1 : 0;
+        }
+        return 1.0 - (double) distinct / count;
+    }
+
+    /**
+     * Sorts a few input shapes and prints the engine chosen for each.
+     */
+    public static void main(String[] args) {
+        AdaptiveSorter sorter = new AdaptiveSorter();
+        int n = 1 << 20;
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] inputs = new double[4][n];
+        String[] names = {"random", "sorted", "reversed", "few unique"};
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = random.nextDouble();
+            inputs[1][i] = i;
+            inputs[2][i] = n - i;
+            inputs[3][i] = random.nextInt(8);
+        }
+
+        System.out.println("Thresholds: " + sorter.getThresholds());
+        for (int s = 0; s < inputs.length; s++) {
+            double[] arr = inputs[s];
+            String engine = sorter.choose(arr, 0, n).name();
+            long startTime = System.nanoTime();
+            sorter.sort(arr);
+            long endTime = System.nanoTime();
+            System.out.println(names[s] + ": " + engine + ", " + (endTime - startTime) / 1_000_000.0 + " ms");
+        }
+    }
+}
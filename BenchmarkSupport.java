@@ -0,0 +1,295 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared helpers for the benchmark drivers.
+ * Every measurement warms up for at least WARMUP_RUNS iterations and WARMUP_NANOS so the JIT
+ * reaches steady state, requests a GC before each timed run, and reports the median of the
+ * timed runs. Results of value-returning operations (the Supplier and DoubleSupplier overloads,
+ * medianQueryNanos) are written to a volatile sink, so the JIT cannot drop the work as dead code.
+ * The JMH module in jmh/ is the reference for timings; these helpers keep the quick drivers
+ * runnable with plain javac. They do not fork, so drivers that compare several cases should be
+ * run once per case (see Benchmarks).
+ */
+public class BenchmarkSupport {
+
+    // Minimum number of untimed iterations used to warm up the JIT.
+    static final int WARMUP_RUNS = 3;
+    // Minimum time spent warming up, however fast one iteration is.
+    static final long WARMUP_NANOS = 500_000_000L;
+    // Number of timed iterations; the median is reported.
+    static final int MEASURED_RUNS = 5;
+
+    /**
+     * Generates a uniformly random array with a fixed seed so runs are comparable.
+     * @param n The array length.
+     * @param seed The random seed.
+     * @return The generated array.
+     */
+    static double[] randomArray(int n, long seed) {
+        Random random = new Random(seed);
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextDouble() * n;
+        }
+        return arr;
+    }
+
+    /**
+     * Input distributions used by the benchmark drivers. SORTED_TAIL is sorted data with
+     * a random tail of 1% appended, the shape of an append-mostly feed.
+     */
+    enum Distribution {
+        RANDOM, SORTED, REVERSED, FEW_UNIQUE, ALL_EQUAL, ORGAN_PIPE, SORTED_TAIL
+    }
+
+    /**
+     * Point layouts used by the closest-pair benchmarks.
+     */
+    enum PointLayout {
+        UNIFORM, CLUSTERED
+    }
+
+    /**
+     * Generates an array of the given distribution with a fixed seed.
+     * @param distribution The shape of the input.
+     * @param n The array length.
+     * @param seed The random seed.
+     * @return The generated array.
+     */
+    static double[] generate(Distribution distribution, int n, long seed) {
+        Random random = new Random(seed);
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            switch (distribution) {
+                case SORTED:
+                    arr[i] = i;
+                    break;
+                case REVERSED:
+                    arr[i] = n - i;
+                    break;
+                case FEW_UNIQUE:
+                    arr[i] = random.nextInt(8);
+                    break;
+                case ALL_EQUAL:
+                    arr[i] = 1.0;
+                    break;
+                case ORGAN_PIPE:
+                    arr[i] = i < n / 2 ? i : n - i;
+                    break;
+                case SORTED_TAIL:
+                    arr[i] = i < n - n / 100 ? i : random.nextDouble() * n;
+                    break;
+                default:
+                    arr[i] = random.nextDouble() * n;
+            }
+        }
+        return arr;
+    }
+
+    /**
+     * Generates n points in a square whose side grows with n, either uniformly or in
+     * a few tight Gaussian clusters.
+     * @param layout The point layout.
+     * @param n The number of points.
+     * @param seed The random seed.
+     * @return The generated points.
+     */
+    static ClosestPP.Point[] points(PointLayout layout, int n, long seed) {
+        Random random = new Random(seed);
+        double side = Math.sqrt(n) * 100;
+        ClosestPP.Point[] points = new ClosestPP.Point[n];
+        if (layout == PointLayout.UNIFORM) {
+            for (int i = 0; i < n; i++) {
+                points[i] = new ClosestPP.Point(random.nextDouble() * side, random.nextDouble() * side);
+            }
+        } else {
+            int clusters = Math.max(1, (int) Math.sqrt(n) / 10);
+            double[] cx = new double[clusters];
+            double[] cy = new double[clusters];
+            for (int c = 0; c < clusters; c++) {
+                cx[c] = random.nextDouble() * side;
+                cy[c] = random.nextDouble() * side;
+            }
+            for (int i = 0; i < n; i++) {
+                int c = random.nextInt(clusters);
+                points[i] = new ClosestPP.Point(cx[c] + random.nextGaussian() * 50, cy[c] + random.nextGaussian() * 50);
+            }
+        }
+        return points;
+    }
+
+    // Receives the results of timed operations so they stay live.
+    private static volatile Object sink;
+    private static volatile double doubleSink;
+
+    /**
+     * Times an operation that does not modify its input.
+     * @param op The operation to time.
+     * @return The median running time in nanoseconds.
+     */
+    static long medianNanos(Runnable op) {
+        warmUp(op);
+
+        long[] times = new long[MEASURED_RUNS];
+        for (int r = 0; r < MEASURED_RUNS; r++) {
+            System.gc();
+            long startTime = System.nanoTime();
+            op.run();
+            times[r] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    /**
+     * Times an operation that returns a result; the result is consumed so it cannot be optimized away.
+     * @param op The operation to time.
+     * @return The median running time in nanoseconds.
+     */
+    static long medianNanos(Supplier<?> op) {
+        return medianNanos(() -> {
+            sink = op.get();
+        });
+    }
+
+    /**
+     * Times an operation that returns a double; the result is consumed so it cannot be optimized away.
+     * @param op The operation to time.
+     * @return The median running time in nanoseconds.
+     */
+    static long medianNanos(DoubleSupplier op) {
+        return medianNanos(() -> consume(op.getAsDouble()));
+    }
+
+    /**
+     * Keeps a result live: writes it to the volatile sink, so the JIT cannot drop the work.
+     */
+    static void consume(double value) {
+        doubleSink = value;
+    }
+
+    /**
+     * Runs op at least WARMUP_RUNS times and for at least WARMUP_NANOS.
+     */
+    private static void warmUp(Runnable op) {
+        long startTime = System.nanoTime();
+        for (int r = 0; r < WARMUP_RUNS || System.nanoTime() - startTime < WARMUP_NANOS; r++) {
+            op.run();
+        }
+    }
+
+    /**
+     * Times an operation on a fresh copy of the input.
+     * The copy is made outside the timed region.
+     * @param input The input array; it is never modified.
+     * @param op The operation to time.
+     * @return The median running time in nanoseconds.
+     */
+    static long medianNanos(double[] input, Consumer<double[]> op) {
+        double[] work = new double[input.length];
+        warmUp(() -> {
+            System.arraycopy(input, 0, work, 0, input.length);
+            op.accept(work);
+        });
+
+        long[] times = new long[MEASURED_RUNS];
+        for (int r = 0; r < MEASURED_RUNS; r++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            System.gc();
+            long startTime = System.nanoTime();
+            op.accept(work);
+            times[r] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    /**
+     * Times a query (a select) on a fresh copy of the input; the value it returns is consumed so
+     * it cannot be optimized away. Named apart from medianNanos(double[], Consumer), since a
+     * lambda returning a double would match both.
+     * @param input The input array; it is never modified.
+     * @param query The query to time.
+     * @return The median running time in nanoseconds.
+     */
+    static long medianQueryNanos(double[] input, ToDoubleFunction<double[]> query) {
+        return medianNanos(input, arr -> consume(query.applyAsDouble(arr)));
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread during one call of the operation,
+     * after warm-up. The input copy is made outside the measured region.
+     * @param input The input array; it is never modified.
+     * @param op The operation to measure.
+     * @return The allocated bytes for a single call.
+     */
+    static long allocatedBytes(double[] input, Consumer<double[]> op) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        double[] work = new double[input.length];
+        warmUp(() -> {
+            System.arraycopy(input, 0, work, 0, input.length);
+            op.accept(work);
+        });
+
+        System.arraycopy(input, 0, work, 0, input.length);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        op.accept(work);
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread during one call of an operation
+     * that does not modify its input, after warm-up.
+     * @param op The operation to measure.
+     * @return The allocated bytes for a single call.
+     */
+    static long allocatedBytes(Runnable op) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        warmUp(op);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        op.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * Measures the bytes allocated by one call of an operation returning a double, whose result
+     * is consumed so the allocation cannot be optimized away with it.
+     * @param op The operation to measure.
+     * @return The allocated bytes for a single call.
+     */
+    static long allocatedBytes(DoubleSupplier op) {
+        return allocatedBytes(() -> consume(op.getAsDouble()));
+    }
+
+    /**
+     * Measures the bytes allocated by one query on a fresh copy of the input; the returned value
+     * is consumed.
+     * @param input The input array; it is never modified.
+     * @param query The query to measure.
+     * @return The allocated bytes for a single call.
+     */
+    static long allocatedQueryBytes(double[] input, ToDoubleFunction<double[]> query) {
+        return allocatedBytes(input, arr -> consume(query.applyAsDouble(arr)));
+    }
+
+    /**
+     * Checks if the array is sorted in non-decreasing order.
+     */
+    static boolean isSorted(double[] arr) {
+        for (int i = 0; i < arr.length - 1; i++) {
+            if (arr[i] > arr[i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
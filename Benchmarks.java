@@ -0,0 +1,84 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Benchmark driver covering MergeSort, QuickSort, DeterSelect and ClosestPP.
+ * For every n = 10^3 .. 10^maxExponent and every input distribution it records the
+ * median running time (after JIT warm-up, with a GC before each timed run) and the
+ * maximum recursion depth, and writes them as CSV for the Time vs. N and Depth vs. N plots.
+ * The optional algorithm argument restricts the run to one algorithm, so each can be measured
+ * in a fresh JVM (the fork that JMH would do) and the CSV files concatenated.
+ *
+ * Usage: java -Xmx8g Benchmarks [maxExponent] [output.csv] [MergeSort|QuickSort|DeterSelect|ClosestPP]
+ */
+public class Benchmarks {
+
+    // QuickSort's default Lomuto partitioning is quadratic on duplicate-heavy keys;
+    // those runs are skipped above this size.
+    private static final int DUPLICATE_HEAVY_LIMIT = 10_000;
+
+    private static PrintWriter csv;
+
+    // Algorithm to run, or null for all of them.
+    private static String only;
+
+    public static void main(String[] args) throws IOException {
+        int maxExponent = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        csv = args.length > 1 ? new PrintWriter(new FileWriter(args[1]), true) : new PrintWriter(System.out, true);
+        only = args.length > 2 ? args[2] : null;
+
+        csv.println("algorithm,distribution,n,time_ms,max_depth");
+        for (int exponent = 3; exponent <= maxExponent; exponent++) {
+            int n = (int) Math.pow(10, exponent);
+
+            for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+                double[] input = BenchmarkSupport.generate(distribution, n, 42);
+
+                measure("MergeSort", distribution, input, MergeSort::sort, MergeSort::getMaxRecursionDepth);
+                boolean skipLomuto = n > DUPLICATE_HEAVY_LIMIT && (distribution == BenchmarkSupport.Distribution.FEW_UNIQUE
+                        || distribution == BenchmarkSupport.Distribution.ALL_EQUAL);
+                if (skipLomuto && selected("QuickSort")) {
+                    System.err.println("skipping QuickSort on " + distribution + " at n=" + n + ": quadratic");
+                } else {
+                    measure("QuickSort", distribution, input, QuickSort::sort, QuickSort::getMaxRecursionDepth);
+                }
+                measure("DeterSelect", distribution, input,
+                        arr -> BenchmarkSupport.consume(DeterSelect.select(arr, 0, arr.length - 1, arr.length / 2)),
+                        DeterSelect::getMaxRecursionDepth);
+            }
+
+            for (BenchmarkSupport.PointLayout layout : BenchmarkSupport.PointLayout.values()) {
+                if (!selected("ClosestPP")) {
+                    break;
+                }
+                ClosestPP.Point[] points = BenchmarkSupport.points(layout, n, 42);
+                long nanos = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(points));
+                report("ClosestPP", layout.toString(), n, nanos, ClosestPP.getMaxRecursionDepth());
+            }
+        }
+        csv.flush();
+        if (args.length > 1) {
+            csv.close();
+        }
+    }
+
+    private static void measure(String algorithm, BenchmarkSupport.Distribution distribution, double[] input,
+                                Consumer<double[]> op, IntSupplier depth) {
+        if (!selected(algorithm)) {
+            return;
+        }
+        long nanos = BenchmarkSupport.medianNanos(input, op);
+        report(algorithm, distribution.toString(), input.length, nanos, depth.getAsInt());
+    }
+
+    private static boolean selected(String algorithm) {
+        return only == null || only.equals(algorithm);
+    }
+
+    private static void report(String algorithm, String distribution, int n, long nanos, int depth) {
+        csv.printf("%s,%s,%d,%.3f,%d%n", algorithm, distribution, n, nanos / 1_000_000.0, depth);
+    }
+}
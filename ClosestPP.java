@@ -1,5 +1,10 @@
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class ClosestPP {
 
@@ -28,8 +33,14 @@ public class ClosestPP {
         }
     }
 
-    // comparator to sort points by X-coordinate
-    private static final Comparator<Point> X_ORDER = Comparator.comparingDouble(p -> p.x);
+    // maximum recursion depth reached by the last findClosestPair call (metric only)
+    private static int maxRecursionDepth = 0;
+
+    // halves with at most this many points are solved sequentially in the parallel mode
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // comparator to sort points by X-coordinate (ties broken by Y, so splitY can tell the halves apart)
+    private static final Comparator<Point> X_ORDER = Comparator.<Point>comparingDouble(p -> p.x).thenComparingDouble(p -> p.y);
     // comparator to sort points by Y-coordinate
     private static final Comparator<Point> Y_ORDER = Comparator.comparingDouble(p -> p.y);
 
@@ -41,34 +52,59 @@ public class ClosestPP {
     }
 
 
-    private static Result closestPair(Point[] pX, Point[] pY) {
+    private static Result closestPair(Point[] pX, Point[] pY, int depth, DepthTracker tracker) {
         int n = pX.length;
+        tracker.reach(depth);
 
         // base Case (Brute Force for small n, e.g., n <= 3)
         if (n <= 3) {
-            double minDist = Double.POSITIVE_INFINITY;
-            Point p1 = null, p2 = null;
-            for (int i = 0; i < n; i++) {
-                for (int j = i + 1; j < n; j++) {
-                    double dist = distance(pX[i], pX[j]);
-                    if (dist < minDist) {
-                        minDist = dist;
-                        p1 = pX[i];
-                        p2 = pX[j];
-                    }
-                }
-            }
-            return new Result(minDist, p1, p2);
+            return bruteForce(pX);
         }
 
         //divide: Split P into two halves, Q and R.
         int mid = n / 2;
         Point[] qX = Arrays.copyOfRange(pX, 0, mid);
         Point[] rX = Arrays.copyOfRange(pX, mid, n);
+        Point[][] halvesY = splitY(pX, pY, mid);
 
 
+        // conquer: Recursively find the closest pair in Q and R.
+        Result leftResult = closestPair(qX, halvesY[0], depth + 1, tracker);
+        Result rightResult = closestPair(rX, halvesY[1], depth + 1, tracker);
+
+        return combine(pX, pY, mid, leftResult, rightResult);
+    }
+
+
+    private static Result bruteForce(Point[] pX) {
+        int n = pX.length;
+        double minDist = Double.POSITIVE_INFINITY;
+        Point p1 = null, p2 = null;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dist = distance(pX[i], pX[j]);
+                if (dist < minDist) {
+                    minDist = dist;
+                    p1 = pX[i];
+                    p2 = pX[j];
+                }
+            }
+        }
+        return new Result(minDist, p1, p2);
+    }
+
+
+    // splits the y-sorted points into the y-sorted halves {qY, rY} matching pX[0..mid) and pX[mid..n)
+    private static Point[][] splitY(Point[] pX, Point[] pY, int mid) {
+        int n = pX.length;
         Point medianPoint = pX[mid - 1];
 
+        // points equal to the median (same x and y) may fall on both sides; Q gets as many as qX has
+        int equalInQ = 0;
+        for (int i = mid - 1; i >= 0 && X_ORDER.compare(pX[i], medianPoint) == 0; i--) {
+            equalInQ++;
+        }
+
 
         Point[] qY = new Point[mid];
         Point[] rY = new Point[n - mid];
@@ -76,17 +112,19 @@ public class ClosestPP {
 
         for (Point p : pY) {
 
-            if (p.x <= medianPoint.x && qYidx < mid) {
+            int cmp = X_ORDER.compare(p, medianPoint);
+            if (cmp < 0 || cmp == 0 && equalInQ-- > 0) {
                 qY[qYidx++] = p;
             } else {
                 rY[rYidx++] = p;
             }
         }
+        return new Point[][] {qY, rY};
+    }
 
 
-        // conquer: Recursively find the closest pair in Q and R.
-        Result leftResult = closestPair(qX, qY);
-        Result rightResult = closestPair(rX, rY);
+    private static Result combine(Point[] pX, Point[] pY, int mid, Result leftResult, Result rightResult) {
+        int n = pX.length;
 
         // Current minimum distance found so far (delta)
         Result bestResult = (leftResult.minDistance < rightResult.minDistance) ? leftResult : rightResult;
@@ -109,7 +147,60 @@ public class ClosestPP {
         Result stripResult = closestStripPair(strip, stripSize, delta);
 
         // Final result: the minimum of the three possibilities
-        return (bestResult.minDistance < stripResult.minDistance) ? bestResult : stripResult;
+        // (the strip only reports a pair when it is strictly closer than delta)
+        return (stripResult.minDistance < bestResult.minDistance) ? stripResult : bestResult;
+    }
+
+
+    // fork-join task for the parallel mode: forks the two halves above the threshold.
+    // it uses the same split and combine steps as closestPair, so the returned pair
+    // (including ties) is identical to the sequential result.
+    private static final class ClosestPairTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final Point[] pX, pY;
+        private final int depth;
+        private final int threshold;
+        final DepthTracker tracker = new DepthTracker();
+
+        ClosestPairTask(Point[] pX, Point[] pY, int depth, int threshold) {
+            this.pX = pX;
+            this.pY = pY;
+            this.depth = depth;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Result compute() {
+            int n = pX.length;
+            if (n <= Math.max(threshold, 3)) {
+                return closestPair(pX, pY, depth, tracker);
+            }
+            tracker.reach(depth);
+
+            int mid = n / 2;
+            Point[][] halvesY = splitY(pX, pY, mid);
+            ClosestPairTask left = new ClosestPairTask(Arrays.copyOfRange(pX, 0, mid), halvesY[0], depth + 1, threshold);
+            ClosestPairTask right = new ClosestPairTask(Arrays.copyOfRange(pX, mid, n), halvesY[1], depth + 1, threshold);
+            left.fork();
+            Result rightResult = right.compute();
+            Result leftResult = left.join();
+            tracker.reach(left.tracker.max);
+            tracker.reach(right.tracker.max);
+
+            return combine(pX, pY, mid, leftResult, rightResult);
+        }
+    }
+
+    // deepest recursion level reached; each parallel task keeps its own instance.
+    private static final class DepthTracker {
+        int max;
+
+        void reach(int depth) {
+            if (depth > max) {
+                max = depth;
+            }
+        }
     }
 
 
@@ -142,7 +233,481 @@ public class ClosestPP {
         Arrays.sort(pX, X_ORDER);
         Arrays.sort(pY, Y_ORDER);
 
-        return closestPair(pX, pY);
+        DepthTracker tracker = new DepthTracker();
+        Result result = closestPair(pX, pY, 0, tracker);
+        maxRecursionDepth = tracker.max;
+        return result;
+    }
+
+    public static Result findClosestPairParallel(Point[] points, int parallelism) {
+        return findClosestPairParallel(points, parallelism, PARALLEL_THRESHOLD);
+    }
+
+    // parallel mode on a dedicated fork-join pool: the X and Y sorts run concurrently and the
+    // two halves are forked while they hold more than threshold points.
+    public static Result findClosestPairParallel(Point[] points, int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        Point[] pX = Arrays.copyOf(points, points.length);
+        Point[] pY = Arrays.copyOf(points, points.length);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // 1. Initial Sorts, in parallel (both are stable, as in the sequential path)
+            pool.invoke(ForkJoinTask.adapt(() -> {
+                ForkJoinTask<?> ySort = ForkJoinTask.adapt(() -> Arrays.sort(pY, Y_ORDER)).fork();
+                Arrays.sort(pX, X_ORDER);
+                ySort.join();
+            }));
+
+            ClosestPairTask root = new ClosestPairTask(pX, pY, 0, threshold);
+            Result result = pool.invoke(root);
+            maxRecursionDepth = root.tracker.max;
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // primitive (structure-of-arrays) variant: point i is (xs[i], ys[i]).
+    // works on parallel double[] arrays and int[] index arrays with one preallocated scratch area,
+    // compares squared distances and calls Math.sqrt only for the final result.
+    public static Result findClosestPair(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length");
+        }
+        maxRecursionDepth = 0;
+        PrimitiveEngine engine = new PrimitiveEngine(xs, ys);
+        engine.run();
+        if (engine.bestA < 0) {
+            return new Result(Double.POSITIVE_INFINITY, null, null);
+        }
+        int a = engine.original[engine.bestA];
+        int b = engine.original[engine.bestB];
+        return new Result(Math.sqrt(engine.delta2), new Point(xs[a], ys[a]), new Point(xs[b], ys[b]));
+    }
+
+    // state of one primitive closest-pair run. positions 0..n-1 refer to the points in x order;
+    // px/py hold their coordinates contiguously and original maps a position back to the caller's index.
+    // subclasses change what happens to a candidate pair (consider) and how delta2 evolves,
+    // which gives the top-k and radius queries on the same divide-and-conquer/strip machinery.
+    private static class PrimitiveEngine {
+        final double[] px, py;
+        final int[] original;
+        final int[] byY;     // positions; each recursive call leaves its range sorted by y
+        final int[] scratch; // shared merge buffer and strip buffer (the two are never live together)
+        double delta2 = Double.POSITIVE_INFINITY; // squared pruning distance: only pairs closer than this matter
+        int bestA = -1, bestB = -1;
+
+        PrimitiveEngine(double[] xs, double[] ys) {
+            int n = xs.length;
+            original = new int[n];
+            scratch = new int[n];
+            for (int i = 0; i < n; i++) {
+                original[i] = i;
+            }
+            // 1. Initial Sort by x on the index array: O(n log n)
+            sortIndices(original, scratch, xs, 0, n);
+
+            px = new double[n];
+            py = new double[n];
+            byY = new int[n];
+            for (int i = 0; i < n; i++) {
+                px[i] = xs[original[i]];
+                py[i] = ys[original[i]];
+                byY[i] = i;
+            }
+        }
+
+        void run() {
+            closestPair(0, px.length, 0);
+        }
+
+        // closest pair among positions [lo, hi); on return byY[lo..hi) is sorted by y.
+        private void closestPair(int lo, int hi, int depth) {
+            if (depth > maxRecursionDepth) {
+                maxRecursionDepth = depth;
+            }
+            int n = hi - lo;
+
+            // base Case (Brute Force for small n)
+            if (n <= 3) {
+                for (int i = lo; i < hi; i++) {
+                    for (int j = i + 1; j < hi; j++) {
+                        consider(i, j);
+                    }
+                }
+                insertionSortByY(lo, hi);
+                return;
+            }
+
+            int mid = lo + n / 2;
+            double midX = px[mid]; // X-coordinate of the dividing line
+
+            closestPair(lo, mid, depth + 1);
+            closestPair(mid, hi, depth + 1);
+
+            mergeByY(lo, mid, hi);
+
+            // combine (Strip Check) on the y-ordered positions within sqrt(delta2) of the line
+            int stripSize = 0;
+            for (int k = lo; k < hi; k++) {
+                int p = byY[k];
+                double dx = px[p] - midX;
+                if (dx * dx < delta2) {
+                    scratch[stripSize++] = p;
+                }
+            }
+            for (int i = 0; i < stripSize; i++) {
+                int p = scratch[i];
+                for (int j = i + 1; j < stripSize; j++) {
+                    int q = scratch[j];
+                    double dy = py[q] - py[p];
+                    if (dy * dy >= delta2) {
+                        break;
+                    }
+                    // pairs on the same side were already considered by the recursive calls
+                    if ((p < mid) != (q < mid)) {
+                        consider(p, q);
+                    }
+                }
+            }
+        }
+
+        void consider(int p, int q) {
+            double dx = px[p] - px[q];
+            double dy = py[p] - py[q];
+            double dist2 = dx * dx + dy * dy;
+            if (dist2 < delta2) {
+                delta2 = dist2;
+                bestA = p;
+                bestB = q;
+            }
+        }
+
+        private void insertionSortByY(int lo, int hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int key = byY[i];
+                int j = i - 1;
+                while (j >= lo && py[byY[j]] > py[key]) {
+                    byY[j + 1] = byY[j];
+                    j--;
+                }
+                byY[j + 1] = key;
+            }
+        }
+
+        private void mergeByY(int lo, int mid, int hi) {
+            System.arraycopy(byY, lo, scratch, lo, hi - lo);
+            int i = lo, j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i >= mid) {
+                    byY[k] = scratch[j++];
+                } else if (j >= hi || py[scratch[i]] <= py[scratch[j]]) {
+                    byY[k] = scratch[i++];
+                } else {
+                    byY[k] = scratch[j++];
+                }
+            }
+        }
+    }
+
+    // top-k mode: a bounded max-heap of the k closest pairs seen so far (parallel primitive arrays).
+    // delta2 starts at an upper bound on the k-th smallest distance (the k-th smallest distance
+    // among the n-1 pairs of x-neighbours, which are k real pairs) and becomes the heap top once
+    // k pairs are held, so the strip scan stays pruned from the start.
+    private static final class TopKEngine extends PrimitiveEngine {
+        final double[] heapDist2;
+        final int[] heapA, heapB;
+        int heapSize = 0;
+
+        TopKEngine(double[] xs, double[] ys, int k) {
+            super(xs, ys);
+            heapDist2 = new double[k];
+            heapA = new int[k];
+            heapB = new int[k];
+
+            int n = px.length;
+            if (k <= n - 1) {
+                double[] neighbourDist2 = new double[n - 1];
+                for (int i = 0; i < n - 1; i++) {
+                    double dx = px[i + 1] - px[i];
+                    double dy = py[i + 1] - py[i];
+                    neighbourDist2[i] = dx * dx + dy * dy;
+                }
+                double bound = DeterSelect.introSelect(neighbourDist2, 0, n - 2, k - 1);
+                delta2 = Math.nextUp(bound); // inclusive: pairs at exactly the bound still qualify
+            }
+        }
+
+        @Override
+        void consider(int p, int q) {
+            double dx = px[p] - px[q];
+            double dy = py[p] - py[q];
+            double dist2 = dx * dx + dy * dy;
+            if (dist2 >= delta2) {
+                return;
+            }
+            if (heapSize < heapDist2.length) {
+                heapDist2[heapSize] = dist2;
+                heapA[heapSize] = p;
+                heapB[heapSize] = q;
+                siftUp(heapSize++);
+            } else {
+                heapDist2[0] = dist2;
+                heapA[0] = p;
+                heapB[0] = q;
+                siftDown(0, heapSize);
+            }
+            if (heapSize == heapDist2.length) {
+                delta2 = heapDist2[0];
+            }
+        }
+
+        // removes the pairs from the heap in ascending distance order, as original index pairs
+        int[] sortedPairs() {
+            int[] pairs = new int[2 * heapSize];
+            for (int end = heapSize - 1; end >= 0; end--) {
+                pairs[2 * end] = original[heapA[0]];
+                pairs[2 * end + 1] = original[heapB[0]];
+                swap(0, end);
+                siftDown(0, end);
+            }
+            heapSize = 0;
+            return pairs;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapDist2[parent] >= heapDist2[i]) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int size) {
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heapDist2[child + 1] > heapDist2[child]) {
+                    child++;
+                }
+                if (heapDist2[child] <= heapDist2[i]) {
+                    break;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double d = heapDist2[i];
+            heapDist2[i] = heapDist2[j];
+            heapDist2[j] = d;
+            int t = heapA[i];
+            heapA[i] = heapA[j];
+            heapA[j] = t;
+            t = heapB[i];
+            heapB[i] = heapB[j];
+            heapB[j] = t;
+        }
+    }
+
+    // radius mode: delta2 is fixed at the (inclusive) radius and every closer pair is appended
+    // to a growable int[] of original index pairs.
+    private static final class RadiusEngine extends PrimitiveEngine {
+        int[] pairs = new int[64];
+        int pairCount = 0;
+
+        RadiusEngine(double[] xs, double[] ys, double radius) {
+            super(xs, ys);
+            delta2 = Math.nextUp(radius * radius);
+        }
+
+        @Override
+        void consider(int p, int q) {
+            double dx = px[p] - px[q];
+            double dy = py[p] - py[q];
+            if (dx * dx + dy * dy < delta2) {
+                if (2 * pairCount + 2 > pairs.length) {
+                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                }
+                pairs[2 * pairCount] = original[p];
+                pairs[2 * pairCount + 1] = original[q];
+                pairCount++;
+            }
+        }
+    }
+
+    // stable merge sort of idx[lo..hi) by keys[idx[i]], using tmp as the buffer.
+    private static void sortIndices(int[] idx, int[] tmp, double[] keys, int lo, int hi) {
+        if (hi - lo <= 7) {
+            for (int i = lo + 1; i < hi; i++) {
+                int key = idx[i];
+                int j = i - 1;
+                while (j >= lo && keys[idx[j]] > keys[key]) {
+                    idx[j + 1] = idx[j];
+                    j--;
+                }
+                idx[j + 1] = key;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sortIndices(idx, tmp, keys, lo, mid);
+        sortIndices(idx, tmp, keys, mid, hi);
+        if (keys[idx[mid - 1]] <= keys[idx[mid]]) {
+            return;
+        }
+        System.arraycopy(idx, lo, tmp, lo, hi - lo);
+        int i = lo, j = mid;
+        for (int k = lo; k < hi; k++) {
+            if (i >= mid) {
+                idx[k] = tmp[j++];
+            } else if (j >= hi || keys[tmp[i]] <= keys[tmp[j]]) {
+                idx[k] = tmp[i++];
+            } else {
+                idx[k] = tmp[j++];
+            }
+        }
+    }
+
+    // k closest pairs, as original index pairs {a0, b0, a1, b1, ...} in ascending distance order.
+    // ties at the k-th distance are broken arbitrarily. the search is most effective for k <= n - 1.
+    public static int[] kClosestPairs(double[] xs, double[] ys, int k) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length");
+        }
+        long totalPairs = (long) xs.length * (xs.length - 1) / 2;
+        k = (int) Math.min(k, totalPairs);
+        if (k <= 0) {
+            return new int[0];
+        }
+        maxRecursionDepth = 0;
+        TopKEngine engine = new TopKEngine(xs, ys, k);
+        engine.run();
+        return engine.sortedPairs();
+    }
+
+    // every pair at distance <= radius, as original index pairs {a0, b0, a1, b1, ...} in no particular order.
+    // the radius must be >= 0 (a negative or NaN radius is rejected rather than squared into a valid one).
+    public static int[] pairsWithin(double[] xs, double[] ys, double radius) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length");
+        }
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("radius must be >= 0: " + radius);
+        }
+        maxRecursionDepth = 0;
+        RadiusEngine engine = new RadiusEngine(xs, ys, radius);
+        engine.run();
+        return Arrays.copyOf(engine.pairs, 2 * engine.pairCount);
+    }
+
+    public static Result[] findKClosestPairs(Point[] points, int k) {
+        double[][] columns = columns(points);
+        return toResults(points, kClosestPairs(columns[0], columns[1], k));
+    }
+
+    public static Result[] findPairsWithin(Point[] points, double radius) {
+        double[][] columns = columns(points);
+        return toResults(points, pairsWithin(columns[0], columns[1], radius));
+    }
+
+    private static double[][] columns(Point[] points) {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].x;
+            ys[i] = points[i].y;
+        }
+        return new double[][] {xs, ys};
+    }
+
+    private static Result[] toResults(Point[] points, int[] pairs) {
+        Result[] results = new Result[pairs.length / 2];
+        for (int i = 0; i < results.length; i++) {
+            Point p1 = points[pairs[2 * i]];
+            Point p2 = points[pairs[2 * i + 1]];
+            results[i] = new Result(distance(p1, p2), p1, p2);
+        }
+        return results;
+    }
+
+    // grid-hashing engine (randomized incremental, Rabin / Khuller-Matias style): expected O(n) time.
+    // points are visited in random order on a grid with cells of side delta, so any closer point lies
+    // in the 3x3 neighbouring cells; when delta shrinks the grid is rebuilt over the points seen so far.
+    // the i-th point causes a rebuild with probability at most 2/i, so the expected total work is linear.
+    public static Result findClosestPairGrid(Point[] points) {
+        return findClosestPairGrid(points, ThreadLocalRandom.current());
+    }
+
+    public static Result findClosestPairGrid(Point[] points, RandomGenerator rng) {
+        int n = points.length;
+        if (n < 2) {
+            return new Result(Double.POSITIVE_INFINITY, null, null);
+        }
+
+        // random visiting order, with the coordinates copied into primitive columns
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            int r = rng.nextInt(i + 1);
+            order[i] = order[r];
+            order[r] = i;
+        }
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points[order[i]].x;
+            ys[i] = points[order[i]].y;
+        }
+
+        int[] best = closestPairGrid(xs, ys);
+        double dx = xs[best[0]] - xs[best[1]];
+        double dy = ys[best[0]] - ys[best[1]];
+        return new Result(Math.sqrt(dx * dx + dy * dy), points[order[best[0]]], points[order[best[1]]]);
+    }
+
+    // returns the ids {a, b} of the closest pair among points 0..n-1 (n >= 2), visiting them in id order.
+    private static int[] closestPairGrid(double[] xs, double[] ys) {
+        int n = xs.length;
+        int bestA = 0, bestB = 1;
+        double dx0 = xs[0] - xs[1];
+        double dy0 = ys[0] - ys[1];
+        double bestDist2 = dx0 * dx0 + dy0 * dy0;
+        if (bestDist2 == 0) {
+            return new int[] {bestA, bestB};
+        }
+
+        PointGrid grid = new PointGrid(n);
+        grid.rebuild(xs, ys, 2, Math.sqrt(bestDist2));
+
+        for (int i = 2; i < n; i++) {
+            int nearest = grid.nearestWithin(xs[i], ys[i], xs, ys, bestDist2);
+
+            if (nearest == PointGrid.NONE) {
+                grid.insert(i, xs[i], ys[i]);
+            } else {
+                // delta shrank: rebuild the grid over points 0..i with the new cell size
+                double dx = xs[i] - xs[nearest];
+                double dy = ys[i] - ys[nearest];
+                bestDist2 = dx * dx + dy * dy;
+                bestA = nearest;
+                bestB = i;
+                if (bestDist2 == 0) {
+                    break;
+                }
+                grid.rebuild(xs, ys, i + 1, Math.sqrt(bestDist2));
+            }
+        }
+        return new int[] {bestA, bestB};
+    }
+
+    public static int getMaxRecursionDepth() {
+        return maxRecursionDepth;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,330 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// Test
+public class ClosestPPTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    // Names of the inputs made by closestPairInputs, in the same order.
+    private static final String[] CLOSEST_PAIR_INPUTS = {
+            "Uniform", "Integer Lattice (shared x, duplicates)", "One Vertical Line", "Four Columns (shared x)"
+    };
+
+    /**
+     * Prints one result in the format of the other test drivers and counts it.
+     */
+    private static void report(String name, int n, boolean passed) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, n);
+        System.out.printf("Correctness Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Random points in [0, range)^2; an integer range puts many points on the same x (and y),
+     * with exact duplicates once n approaches range^2.
+     */
+    private static double[][] generatePoints(int n, int range, boolean integer) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = integer ? RANDOM.nextInt(range) : RANDOM.nextDouble() * range;
+            ys[i] = integer ? RANDOM.nextInt(range) : RANDOM.nextDouble() * range;
+        }
+        return new double[][] {xs, ys};
+    }
+
+    private static double dist2(double[] xs, double[] ys, int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Squared distances of all n(n-1)/2 pairs, in ascending order.
+     */
+    private static double[] bruteForceDist2(double[] xs, double[] ys) {
+        int n = xs.length;
+        double[] all = new double[n * (n - 1) / 2];
+        int count = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                all[count++] = dist2(xs, ys, a, b);
+            }
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * Encodes every pair as min * n + max, sorted, and fails on out-of-range, self or repeated pairs.
+     */
+    private static long[] normalizedPairs(int[] pairs, int n) {
+        long[] keys = new long[pairs.length / 2];
+        for (int i = 0; i < keys.length; i++) {
+            int a = pairs[2 * i];
+            int b = pairs[2 * i + 1];
+            if (a < 0 || b < 0 || a >= n || b >= n || a == b) {
+                return null;
+            }
+            keys[i] = (long) Math.min(a, b) * n + Math.max(a, b);
+        }
+        Arrays.sort(keys);
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i] == keys[i - 1]) {
+                return null;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Checks kClosestPairs against brute force: distinct pairs whose distances, in the returned
+     * order, are the k smallest. Ties at the k-th distance may pick any of the tied pairs.
+     */
+    private static void runKClosestTest(String name, double[][] points, int k) {
+        double[] xs = points[0];
+        double[] ys = points[1];
+        double[] expected = bruteForceDist2(xs, ys);
+        int[] pairs = ClosestPP.kClosestPairs(xs, ys, k);
+
+        int expectedCount = Math.min(Math.max(k, 0), expected.length);
+        boolean passed = pairs.length == 2 * expectedCount && normalizedPairs(pairs, xs.length) != null;
+        for (int i = 0; passed && i < expectedCount; i++) {
+            passed = dist2(xs, ys, pairs[2 * i], pairs[2 * i + 1]) == expected[i];
+        }
+        report("kClosestPairs k=" + k + ": " + name, xs.length, passed);
+    }
+
+    /**
+     * Checks pairsWithin against brute force: exactly the pairs at distance <= radius.
+     */
+    private static void runPairsWithinTest(String name, double[][] points, double radius) {
+        double[] xs = points[0];
+        double[] ys = points[1];
+        int n = xs.length;
+        long[] expected = new long[0];
+        int count = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                if (dist2(xs, ys, a, b) <= radius * radius) {
+                    if (count == expected.length) {
+                        expected = Arrays.copyOf(expected, Math.max(16, 2 * count));
+                    }
+                    expected[count++] = (long) a * n + b;
+                }
+            }
+        }
+        expected = Arrays.copyOf(expected, count);
+
+        long[] actual = normalizedPairs(ClosestPP.pairsWithin(xs, ys, radius), n);
+        report("pairsWithin r=" + radius + ": " + name, n, Arrays.equals(actual, expected));
+    }
+
+    /**
+     * Checks that pairsWithin rejects the radius with an IllegalArgumentException.
+     */
+    private static void runInvalidRadiusTest(double radius) {
+        double[][] points = generatePoints(100, 10, true);
+        boolean passed;
+        try {
+            ClosestPP.pairsWithin(points[0], points[1], radius);
+            passed = false;
+        } catch (IllegalArgumentException e) {
+            passed = true;
+        }
+        report("pairsWithin rejects r=" + radius, points[0].length, passed);
+    }
+
+    /**
+     * The points of the columns as ClosestPP.Point objects, one object per index.
+     */
+    private static ClosestPP.Point[] toPoints(double[][] points) {
+        ClosestPP.Point[] result = new ClosestPP.Point[points[0].length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new ClosestPP.Point(points[0][i], points[1][i]);
+        }
+        return result;
+    }
+
+    /**
+     * Checks one closest-pair result against brute force: the distance is the minimum over all
+     * pairs, and the two returned points are two different input points at that distance.
+     * With fewer than two points the distance must be infinite and the points null.
+     */
+    private static void runClosestTest(String name, ClosestPP.Point[] points, ClosestPP.Result result) {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].x;
+            ys[i] = points[i].y;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int a = 0; a < points.length; a++) {
+            for (int b = a + 1; b < points.length; b++) {
+                best = Math.min(best, dist2(xs, ys, a, b));
+            }
+        }
+
+        boolean passed;
+        if (points.length < 2) {
+            passed = result.minDistance == Double.POSITIVE_INFINITY && result.p1 == null && result.p2 == null;
+        } else {
+            double dx = result.p1.x - result.p2.x;
+            double dy = result.p1.y - result.p2.y;
+            passed = result.minDistance == Math.sqrt(best) && dx * dx + dy * dy == best
+                    && contains(points, result.p1) && contains(points, result.p2)
+                    && result.p1 != result.p2;
+        }
+        report(name, points.length, passed);
+    }
+
+    /**
+     * Checks that a point with the same coordinates is in the input (the primitive engine
+     * returns new Point objects).
+     */
+    private static boolean contains(ClosestPP.Point[] points, ClosestPP.Point p) {
+        for (ClosestPP.Point q : points) {
+            if (q.x == p.x && q.y == p.y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Input shapes for the closest-pair engines, keyed by name: uniform points, an integer
+     * lattice (many shared x values and duplicates), points on one vertical line, and points
+     * on four vertical lines, so that the median x is shared by many points.
+     */
+    private static double[][][] closestPairInputs(int n) {
+        double[][] line = generatePoints(n, 1_000_000, false);
+        Arrays.fill(line[0], 42.0);
+        double[][] columns = generatePoints(n, 1000, false);
+        for (int i = 0; i < n; i++) {
+            columns[0][i] = RANDOM.nextInt(4);
+        }
+        return new double[][][] {generatePoints(n, 1000, false), generatePoints(n, 30, true), line, columns};
+    }
+
+    /**
+     * Streams the points into a ClosestPairTracker and checks the closest pair after every
+     * insert against a running brute-force minimum (the new point against all earlier ones).
+     */
+    private static void runTrackerTest(String name, ClosestPP.Point[] points) {
+        ClosestPairTracker tracker = new ClosestPairTracker();
+        double best = Double.POSITIVE_INFINITY;
+        boolean passed = true;
+        for (int i = 0; i < points.length && passed; i++) {
+            for (int j = 0; j < i; j++) {
+                double dx = points[i].x - points[j].x;
+                double dy = points[i].y - points[j].y;
+                best = Math.min(best, dx * dx + dy * dy);
+            }
+            tracker.add(points[i]);
+            ClosestPP.Result result = tracker.closest();
+            passed = tracker.size() == i + 1 && result.minDistance == Math.sqrt(best);
+            if (passed && i > 0) {
+                double dx = result.p1.x - result.p2.x;
+                double dy = result.p1.y - result.p2.y;
+                passed = result.p1 != result.p2 && dx * dx + dy * dy == best;
+            }
+        }
+        System.out.printf("  grid rebuilds: %d\n", tracker.getRebuilds());
+        report("ClosestPairTracker after every insert: " + name, points.length, passed);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- Closest Pair Tests ---");
+
+        // 1. k closest pairs
+        for (int n : new int[] {0, 1, 2, 3, 10, 500}) {
+            double[][] uniform = generatePoints(n, 1000, false);
+            double[][] lattice = generatePoints(n, 20, true);
+            for (int k : new int[] {0, 1, 5, n, 3 * n, n * n}) {
+                runKClosestTest("Uniform", uniform, k);
+                runKClosestTest("Integer Lattice (shared x, duplicates)", lattice, k);
+            }
+        }
+
+        // 2. Pairs within a radius, including radius 0 (duplicates only) and the lattice spacing itself
+        for (int n : new int[] {0, 1, 2, 10, 500}) {
+            double[][] uniform = generatePoints(n, 1000, false);
+            double[][] lattice = generatePoints(n, 20, true);
+            for (double radius : new double[] {0.0, 1.0, 25.0, 2000.0}) {
+                runPairsWithinTest("Uniform", uniform, radius);
+                runPairsWithinTest("Integer Lattice (shared x, duplicates)", lattice, radius);
+            }
+        }
+        runInvalidRadiusTest(-1.0);
+        runInvalidRadiusTest(-0.5);
+        runInvalidRadiusTest(Double.NaN);
+
+        // 3. Primitive (structure-of-arrays) engine
+        for (int n : new int[] {0, 1, 2, 3, 4, 100, 5000}) {
+            double[][][] inputs = closestPairInputs(n);
+            for (int i = 0; i < inputs.length; i++) {
+                runClosestTest("findClosestPair(xs, ys): " + CLOSEST_PAIR_INPUTS[i], toPoints(inputs[i]),
+                        ClosestPP.findClosestPair(inputs[i][0], inputs[i][1]));
+                ClosestPP.Point[] points = toPoints(inputs[i]);
+                runClosestTest("findClosestPair(Point[]): " + CLOSEST_PAIR_INPUTS[i], points, ClosestPP.findClosestPair(points));
+            }
+        }
+
+        // 4. Parallel engine: a small threshold forks down to tiny halves, so many splits fall
+        //    inside runs of equal x (the shared-x inputs)
+        for (int n : new int[] {0, 1, 2, 3, 100, 5000}) {
+            double[][][] inputs = closestPairInputs(n);
+            for (int i = 0; i < inputs.length; i++) {
+                ClosestPP.Point[] points = toPoints(inputs[i]);
+                runClosestTest("findClosestPairParallel(threshold 8): " + CLOSEST_PAIR_INPUTS[i], points,
+                        ClosestPP.findClosestPairParallel(points, 4, 8));
+                runClosestTest("findClosestPairParallel: " + CLOSEST_PAIR_INPUTS[i], points,
+                        ClosestPP.findClosestPairParallel(points, 2));
+            }
+        }
+
+        // 5. Grid-hashing engine: random visiting orders, and a fixed seed for reproducibility
+        for (int n : new int[] {0, 1, 2, 3, 100, 5000}) {
+            double[][][] inputs = closestPairInputs(n);
+            for (int i = 0; i < inputs.length; i++) {
+                ClosestPP.Point[] points = toPoints(inputs[i]);
+                runClosestTest("findClosestPairGrid: " + CLOSEST_PAIR_INPUTS[i], points, ClosestPP.findClosestPairGrid(points));
+                runClosestTest("findClosestPairGrid(seeded): " + CLOSEST_PAIR_INPUTS[i], points,
+                        ClosestPP.findClosestPairGrid(points, new SplittableRandom(n)));
+            }
+        }
+        double[][] tiny = generatePoints(1000, 1, false);
+        for (int i = 0; i < 1000; i++) {
+            // Coordinates far from the origin with tiny gaps: cell indices must not overflow or collide wrongly.
+            tiny[0][i] = 1e12 + tiny[0][i] * 1e-3;
+            tiny[1][i] = -1e12 + tiny[1][i] * 1e-3;
+        }
+        ClosestPP.Point[] tinyPoints = toPoints(tiny);
+        runClosestTest("findClosestPairGrid: Tiny Gaps Far From the Origin", tinyPoints, ClosestPP.findClosestPairGrid(tinyPoints));
+
+        // 6. Streaming tracker: random arrival order, and x-sorted arrival that shrinks delta often
+        for (int n : new int[] {0, 1, 2, 3, 2000}) {
+            double[][][] inputs = closestPairInputs(n);
+            for (int i = 0; i < inputs.length; i++) {
+                ClosestPP.Point[] points = toPoints(inputs[i]);
+                runTrackerTest(CLOSEST_PAIR_INPUTS[i], points);
+                Arrays.sort(points, (p, q) -> Double.compare(p.x, q.x));
+                runTrackerTest(CLOSEST_PAIR_INPUTS[i] + ", Arriving in x Order", points);
+            }
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: The closest pair engines agree with brute force.");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Benchmarks for the closest-pair engines.
+ * Usage: java ClosestPairBenchmark [n]
+ */
+public class ClosestPairBenchmark {
+
+    // Thread counts used for the scaling table.
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Compares the Point-object engine with the primitive structure-of-arrays engine:
+     * running time, bytes allocated per call, and the retained size of the input itself
+     * (a Point is a 16-byte header plus two doubles, plus a 4-byte reference in the array,
+     * versus 16 bytes per point in two double[] columns).
+     * @param n The number of points.
+     */
+    static void primitiveEngine(int n) {
+        for (BenchmarkSupport.PointLayout layout : BenchmarkSupport.PointLayout.values()) {
+            ClosestPP.Point[] points = BenchmarkSupport.points(layout, n, 42);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = points[i].x;
+                ys[i] = points[i].y;
+            }
+
+            System.out.println("--- ClosestPP Engines (" + layout + ", N=" + n + ") ---");
+            System.out.printf("%-10s %12s %16s %16s%n", "engine", "time (ms)", "allocated (B)", "input (B)");
+            long objectNanos = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(points));
+            long objectBytes = BenchmarkSupport.allocatedBytes(() -> ClosestPP.findClosestPair(points));
+            System.out.printf("%-10s %12.2f %16d %16d%n", "objects", objectNanos / 1_000_000.0, objectBytes, 36L * n);
+            long primitiveNanos = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(xs, ys));
+            long primitiveBytes = BenchmarkSupport.allocatedBytes(() -> ClosestPP.findClosestPair(xs, ys));
+            System.out.printf("%-10s %12.2f %16d %16d%n", "primitive", primitiveNanos / 1_000_000.0, primitiveBytes, 16L * n);
+        }
+    }
+
+    /**
+     * Reports the parallel closest-pair running time and speedup over the sequential path.
+     * @param n The number of points.
+     */
+    static void parallelScaling(int n) {
+        ClosestPP.Point[] points = BenchmarkSupport.points(BenchmarkSupport.PointLayout.UNIFORM, n, 42);
+
+        System.out.println("--- Parallel ClosestPP Scaling (N=" + n + ", cores=" + Runtime.getRuntime().availableProcessors() + ") ---");
+        long baseline = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(points));
+        System.out.printf("%-8s %12s %8s%n", "threads", "time (ms)", "speedup");
+        for (int threads : THREADS) {
+            long nanos = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPairParallel(points, threads));
+            System.out.printf("%-8d %12.2f %8.2f%n", threads, nanos / 1_000_000.0, (double) baseline / nanos);
+        }
+    }
+
+    /**
+     * Crossover between the divide-and-conquer engines and the grid-hashing engine
+     * for growing n on uniform and clustered points.
+     * @param maxN The largest number of points.
+     */
+    static void gridCrossover(int maxN) {
+        for (BenchmarkSupport.PointLayout layout : BenchmarkSupport.PointLayout.values()) {
+            System.out.println("--- Grid Hashing vs Divide-and-Conquer (" + layout + ", ms) ---");
+            System.out.printf("%-10s %12s %12s %12s%n", "n", "D&C objects", "D&C prim", "grid");
+            for (int n = 1_000; n <= maxN; n *= 10) {
+                ClosestPP.Point[] points = BenchmarkSupport.points(layout, n, 42);
+                double[] xs = new double[n];
+                double[] ys = new double[n];
+                for (int i = 0; i < n; i++) {
+                    xs[i] = points[i].x;
+                    ys[i] = points[i].y;
+                }
+                long objects = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(points));
+                long primitive = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(xs, ys));
+                long grid = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPairGrid(points));
+                System.out.printf("%-10d %12.2f %12.2f %12.2f%n", n,
+                        objects / 1_000_000.0, primitive / 1_000_000.0, grid / 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * Times the top-k query for k = 10, 1000 and 100000, and the radius query with the radius
+     * set to the 1000th smallest distance.
+     * @param n The number of points.
+     */
+    static void kClosestPairs(int n) {
+        for (BenchmarkSupport.PointLayout layout : BenchmarkSupport.PointLayout.values()) {
+            ClosestPP.Point[] points = BenchmarkSupport.points(layout, n, 42);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = points[i].x;
+                ys[i] = points[i].y;
+            }
+
+            System.out.println("--- k Closest Pairs (" + layout + ", N=" + n + ") ---");
+            long single = BenchmarkSupport.medianNanos(() -> ClosestPP.findClosestPair(xs, ys));
+            System.out.printf("%-18s %12.2f ms%n", "closest pair", single / 1_000_000.0);
+            for (int k : new int[] {10, 1_000, 100_000}) {
+                long nanos = BenchmarkSupport.medianNanos(() -> ClosestPP.kClosestPairs(xs, ys, k));
+                System.out.printf("%-18s %12.2f ms%n", "top-k, k=" + k, nanos / 1_000_000.0);
+            }
+
+            int[] top = ClosestPP.kClosestPairs(xs, ys, 1_000);
+            int a = top[top.length - 2];
+            int b = top[top.length - 1];
+            double radius = Math.hypot(xs[a] - xs[b], ys[a] - ys[b]);
+            long nanos = BenchmarkSupport.medianNanos(() -> ClosestPP.pairsWithin(xs, ys, radius));
+            System.out.printf("%-18s %12.2f ms (%d pairs)%n", "radius", nanos / 1_000_000.0,
+                    ClosestPP.pairsWithin(xs, ys, radius).length / 2);
+        }
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        primitiveEngine(n);
+        parallelScaling(n);
+        gridCrossover(n);
+        kClosestPairs(n);
+    }
+}
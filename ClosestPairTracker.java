@@ -0,0 +1,132 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Streaming closest-pair tracker: points arrive one at a time and the current closest pair
+ * is available after every insert, without re-running ClosestPP.findClosestPair.
+ * Features:
+ * - Spatial grid (PointGrid) with cells of side delta, the current minimum distance.
+ * - A new point only checks the 3x3 neighbouring cells, so an insert that does not change
+ *   delta costs O(1) expected.
+ * - The grid is rebuilt over all points only when delta shrinks. For points arriving in
+ *   random order the i-th insert shrinks delta with probability at most 2/i, so the
+ *   amortized cost per insert is O(1) expected. Adversarial arrival orders can force more rebuilds.
+ */
+public class ClosestPairTracker {
+
+    private ClosestPP.Point[] points = new ClosestPP.Point[16];
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private int size = 0;
+
+    private final PointGrid grid = new PointGrid(16);
+    private double bestDist2 = Double.POSITIVE_INFINITY;
+    private int bestA = PointGrid.NONE, bestB = PointGrid.NONE;
+
+    // Number of grid rebuilds so far (metric only).
+    private int rebuilds = 0;
+
+    /**
+     * Adds a point and updates the closest pair.
+     * @param p The new point.
+     */
+    public void add(ClosestPP.Point p) {
+        if (size == points.length) {
+            int capacity = size * 2;
+            points = Arrays.copyOf(points, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        int id = size++;
+        points[id] = p;
+        xs[id] = p.x;
+        ys[id] = p.y;
+
+        if (id == 0 || bestDist2 == 0) {
+            // nothing to compare with yet, or nothing can beat a zero distance
+            return;
+        }
+        if (id == 1) {
+            double dx = xs[0] - xs[1];
+            double dy = ys[0] - ys[1];
+            update(0, 1, dx * dx + dy * dy);
+            return;
+        }
+
+        int nearest = grid.nearestWithin(p.x, p.y, xs, ys, bestDist2);
+        if (nearest == PointGrid.NONE) {
+            grid.insert(id, p.x, p.y);
+        } else {
+            double dx = p.x - xs[nearest];
+            double dy = p.y - ys[nearest];
+            update(nearest, id, dx * dx + dy * dy);
+        }
+    }
+
+    /**
+     * Records a new, smaller delta and resizes the grid cells to match it.
+     */
+    private void update(int a, int b, double dist2) {
+        bestA = a;
+        bestB = b;
+        bestDist2 = dist2;
+        if (dist2 > 0) {
+            grid.rebuild(xs, ys, size, Math.sqrt(dist2));
+            rebuilds++;
+        }
+    }
+
+    /**
+     * @return The closest pair among the points added so far; the distance is infinite
+     *         and the points are null while fewer than two points have been added.
+     */
+    public ClosestPP.Result closest() {
+        if (bestA == PointGrid.NONE) {
+            return new ClosestPP.Result(Double.POSITIVE_INFINITY, null, null);
+        }
+        return new ClosestPP.Result(Math.sqrt(bestDist2), points[bestA], points[bestB]);
+    }
+
+    /**
+     * @return The number of points added so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of grid rebuilds so far.
+     */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * Main method to stream random points into the tracker and compare with the batch algorithm.
+     */
+    public static void main(String[] args) {
+        int n = 1_000_000;
+        Random random = new Random(42);
+        ClosestPP.Point[] stream = new ClosestPP.Point[n];
+        for (int i = 0; i < n; i++) {
+            stream[i] = new ClosestPP.Point(random.nextDouble() * 100_000, random.nextDouble() * 100_000);
+        }
+
+        ClosestPairTracker tracker = new ClosestPairTracker();
+        long startTime = System.nanoTime();
+        for (ClosestPP.Point p : stream) {
+            tracker.add(p);
+        }
+        long endTime = System.nanoTime();
+        ClosestPP.Result result = tracker.closest();
+
+        System.out.println("--- Streaming Closest Pair ---");
+        System.out.println("Total Points: " + tracker.size());
+        System.out.println("Closest Pair: " + result.p1 + " and " + result.p2);
+        System.out.println("Min Distance: " + result.minDistance);
+        System.out.println("Verification (findClosestPair): " + ClosestPP.findClosestPair(stream).minDistance);
+        System.out.println("\n--- Performance ---");
+        System.out.println("Grid Rebuilds: " + tracker.getRebuilds());
+        System.out.println("Time per Insert: " + (endTime - startTime) / (double) n + " ns");
+    }
+}
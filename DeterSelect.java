@@ -1,104 +1,946 @@
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
 
 public class DeterSelect {
 
-    // Helper method to find the median of a small array (size <= 5)
-    private static double medianOfSmallArray(double[] arr, int low, int high) {
+    // maximum recursion depth reached by the last select call (metric only).
+    private static int maxRecursionDepth = 0;
+
+    // introSelect falls back to median-of-medians after scanning this many times n elements.
+    private static final int INTRO_WORK_FACTOR = 8;
+
+    // number of median-of-medians fallbacks taken by the last introSelect call (metric only).
+    private static int momFallbacks = 0;
+
+    // selectReadOnly refines this many key bits per pass, and sorts the candidates directly
+    // once at most READ_ONLY_GATHER_LIMIT of them are left.
+    private static final int READ_ONLY_DIGIT_BITS = 11;
+    private static final int READ_ONLY_GATHER_LIMIT = 1024;
+
+    // parallelSelect hands ranges of at most this size to the sequential select.
+    private static final int PARALLEL_SELECT_THRESHOLD = 1 << 15;
+
+    // Smallest block of the parallel group-median and partition passes.
+    private static final int PARALLEL_MIN_BLOCK = 1 << 13;
+
+    // Helper method to sort a small group (size <= 5, or a range below the select cutoff) in place
+    // and return the index of its median
+    private static int medianOfSmallArray(double[] arr, int low, int high) {
         // Simple Insertion Sort for the small group
         for (int i = low + 1; i <= high; i++) {
             double key = arr[i];
             int j = i - 1;
-            while (j >= low && arr[j] > key) {
+            while (j >= low && Double.compare(arr[j], key) > 0) {
                 arr[j + 1] = arr[j];
                 j--;
             }
             arr[j + 1] = key;
         }
         // The median is at the middle index
-        return arr[low + (high - low) / 2];
+        return low + (high - low) / 2;
     }
 
 
-    private static double findMoMPivot(double[] arr, int low, int high) {
+    // Returns the index of the median-of-medians pivot within arr[low..high].
+    // No extra array is allocated: the group medians are swapped into the prefix arr[low..low+numGroups-1]
+    // and the MoM is selected in place on that prefix.
+    private static int findMoMPivot(double[] arr, int low, int high, int depth, int cutoff) {
         int n = high - low + 1; // size of the current sub-array
         if (n <= 5) {
             return medianOfSmallArray(arr, low, high);
         }
 
-        // 1. Group by 5 and find the median of each group.
-        int numGroups = (int) Math.ceil(n / 5.0);
-        double[] medians = new double[numGroups];
+        // 1. Group by 5, find the median of each group and move it to the front.
+        int numGroups = (n + 4) / 5;
 
         for (int i = 0; i < numGroups; i++) {
             int groupLow = low + i * 5;
             int groupHigh = Math.min(groupLow + 4, high);
 
             // Find the median of the current group
-            medians[i] = medianOfSmallArray(arr, groupLow, groupHigh);
+            swap(arr, low + i, medianOfSmallArray(arr, groupLow, groupHigh));
+        }
+
+        // 2. Recursively find the median of the medians (MoM) inside the prefix.
+
+        return selectIndex(arr, low, low + numGroups - 1, low + numGroups / 2, depth + 1, cutoff);
+    }
+
+
+    // Three-way partition around arr[pivotIndex] in two Lomuto passes:
+    // afterwards arr[low..lt-1] < pivot and arr[lt..gt] == pivot, where lt is returned
+    // and gt is returned by partitionEqual. Runs of equal keys are never recursed into.
+    // Values are compared as by Double.compare (-0.0 < 0.0, NaN above everything and equal to
+    // itself), the order of Arrays.sort. The pivot therefore always equals itself and the
+    // equal run is never empty, so a NaN pivot cannot leave the range unchanged.
+    private static int partitionLess(double[] arr, int low, int high, double pivot) {
+        int i = low; // Index of smaller element
+
+        for (int j = low; j <= high; j++) {
+            if (Double.compare(arr[j], pivot) < 0) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i;
+    }
+
+
+    private static int partitionEqual(double[] arr, int low, int high, double pivot) {
+        int i = low;
+
+        for (int j = low; j <= high; j++) {
+            if (Double.compare(arr[j], pivot) == 0) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i - 1;
+    }
+
+
+    // Returns the element of rank k (relative to low) of arr[low..high], i.e. the element Arrays.sort
+    // would put at low + k: NaN ranks above +Infinity and -0.0 below 0.0.
+    public static double select(double[] arr, int low, int high, int k) {
+        maxRecursionDepth = 0;
+        return arr[selectIndex(arr, low, high, low + k, 0)];
+    }
+
+    // Selector views for code written against the Selector interface (k is relative to from).
+    // selector(cutoff) runs the median-of-medians select and insertion-sorts ranges of at most
+    // cutoff elements; selector() keeps the default of 1. None of them keeps state between calls.
+    public static Selector selector() {
+        return selector(1);
+    }
+
+    public static Selector selector(int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive: " + cutoff);
         }
+        return new Selector() {
+            @Override
+            public double select(double[] arr, int from, int to, int k) {
+                checkRank(arr, from, to, k);
+                maxRecursionDepth = 0;
+                return arr[selectIndex(arr, from, to - 1, from + k, 0, cutoff)];
+            }
 
-        // 2. Recursively find the median of the array of medians (MoM).
+            @Override
+            public String name() {
+                return "DeterSelect(cutoff=" + cutoff + ")";
+            }
+        };
+    }
+
+    public static Selector introSelector() {
+        return new Selector() {
+            @Override
+            public double select(double[] arr, int from, int to, int k) {
+                checkRank(arr, from, to, k);
+                return introSelect(arr, from, to - 1, k);
+            }
 
-        return select(medians, 0, medians.length - 1, medians.length / 2);
+            @Override
+            public String name() {
+                return "DeterSelect.intro";
+            }
+        };
     }
 
+    // Does not reorder arr, so the same array can be queried from several threads.
+    public static Selector readOnlySelector() {
+        return new Selector() {
+            @Override
+            public double select(double[] arr, int from, int to, int k) {
+                checkRank(arr, from, to, k);
+                return selectReadOnly(arr, from, to - 1, k);
+            }
 
-    private static int partition(double[] arr, int low, int high, double pivot) {
-        // Find the pivot element's location and move it to the end for the partition process.
+            @Override
+            public String name() {
+                return "DeterSelect.readOnly";
+            }
+        };
+    }
+
+    private static void checkRank(double[] arr, int from, int to, int k) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Objects.checkIndex(k, to - from);
+    }
+
+    // Introselect: randomized quickselect by default, falling back to the median-of-medians
+    // path only when the partitions stay unbalanced, so the worst case is still linear.
+    // Ranks follow Double.compare like select, so NaN pivots shrink the range as well.
+    public static double introSelect(double[] arr, int low, int high, int k) {
+        maxRecursionDepth = 0;
+        momFallbacks = 0;
+        return arr[introSelectIndex(arr, low, high, low + k)];
+    }
+
+    // Selects several ranks (0-based, over the whole array) in one pass and returns their values
+    // in the order of the ranks argument. After each partition the recursion only goes into the
+    // sides that still hold requested ranks, so q ranks cost O(n log q).
+    // On return arr[r] holds the element of rank r for every requested r.
+    public static double[] selectMany(double[] arr, int[] ranks) {
+        return selectMany(arr, 0, arr.length - 1, ranks);
+    }
+
+    // Range variant of selectMany: only arr[low..high] is read and rearranged, and the ranks are
+    // relative to low (rank r is the element that would land at low + r if the range were sorted).
+    // The bounds are inclusive like those of every static select in this class, so
+    // selectMany(arr, low, high, {k}) and select(arr, low, high, k) ask for the same element;
+    // only the Selector views take an exclusive upper bound.
+    public static double[] selectMany(double[] arr, int low, int high, int[] ranks) {
+        Objects.checkFromToIndex(low, high + 1, arr.length);
+        int[] sortedRanks = ranks.clone();
+        Arrays.sort(sortedRanks);
+        if (sortedRanks.length > 0 && (sortedRanks[0] < 0 || sortedRanks[sortedRanks.length - 1] > high - low)) {
+            throw new IllegalArgumentException("ranks must be in [0, " + (high - low + 1) + ")");
+        }
+        for (int i = 0; i < sortedRanks.length; i++) {
+            sortedRanks[i] += low;
+        }
+
+        maxRecursionDepth = 0;
+        selectMany(arr, low, high, sortedRanks, 0, sortedRanks.length - 1, 0);
+
+        double[] values = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            values[i] = arr[low + ranks[i]];
+        }
+        return values;
+    }
+
+    // Indirect selection: returns the index i in keys such that keys[i] has rank k (0-based).
+    // Equal keys are ranked by their position in keys, so the answer is well defined. keys is not
+    // modified: the rank-k value is found with select on a copy, then one scan picks its index.
+    public static int argselect(double[] keys, int k) {
+        if (k < 0 || k >= keys.length) {
+            throw new IllegalArgumentException("k must be in [0, " + keys.length + ")");
+        }
+        double pivot = select(keys.clone(), 0, keys.length - 1, k);
+
+        int less = 0;
+        for (double key : keys) {
+            if (Double.compare(key, pivot) < 0) {
+                less++;
+            }
+        }
+        int wanted = k - less;
+        for (int i = 0; i < keys.length; i++) {
+            if (Double.compare(keys[i], pivot) == 0 && wanted-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("rank " + k + " not found");
+    }
+
+    // Indirect partition: returns a permutation idx of the indices of keys such that idx[k] is
+    // argselect(keys, k), no index before it has a larger key and no index after it a smaller
+    // one. Within each of the <, == and > groups the original order is kept.
+    public static int[] argpartition(double[] keys, int k) {
+        if (k < 0 || k >= keys.length) {
+            throw new IllegalArgumentException("k must be in [0, " + keys.length + ")");
+        }
+        double pivot = select(keys.clone(), 0, keys.length - 1, k);
+
+        int less = 0;
+        int equal = 0;
+        for (double key : keys) {
+            int order = Double.compare(key, pivot);
+            if (order < 0) {
+                less++;
+            } else if (order == 0) {
+                equal++;
+            }
+        }
+        int[] idx = new int[keys.length];
+        int nextLess = 0;
+        int nextEqual = less;
+        int nextGreater = less + equal;
+        for (int i = 0; i < keys.length; i++) {
+            int order = Double.compare(keys[i], pivot);
+            if (order < 0) {
+                idx[nextLess++] = i;
+            } else if (order == 0) {
+                idx[nextEqual++] = i;
+            } else {
+                idx[nextGreater++] = i;
+            }
+        }
+        return idx;
+    }
+
+    // Non-destructive select: returns the element of rank k (relative to low) of arr[low..high]
+    // without writing to arr, so a shared or read-only array needs no clone and any number of
+    // threads may query the same array at once (no shared state is written).
+    // Values are ranked by their RadixSort sortable key (the order of Double.compare), refining
+    // the key from the most significant bits: each pass scans the range once, histograms the
+    // next READ_ONLY_DIGIT_BITS of the keys that match the prefix found so far, and keeps the
+    // bucket holding rank k. Once that bucket has at most READ_ONLY_GATHER_LIMIT values they are
+    // copied out and sorted with Arrays.sort, which orders doubles like Double.compare and, unlike
+    // RadixSort.sort, publishes no metrics. Memory is bounded by the histogram and the gather buffer, and the
+    // number of passes by 64 / READ_ONLY_DIGIT_BITS (usually 2 or 3 on real data).
+    public static double selectReadOnly(double[] arr, int low, int high, int k) {
+        Objects.checkFromToIndex(low, high + 1, arr.length);
+        if (k < 0 || k > high - low) {
+            throw new IllegalArgumentException("k must be in [0, " + (high - low + 1) + ")");
+        }
+
+        // The last histogram slot is a sink for keys outside the prefix, which keeps the scans branch-free.
+        int[] histogram = new int[(1 << READ_ONLY_DIGIT_BITS) + 1];
+        long prefixMask = 0;   // the key bits fixed so far
+        long prefix = 0;       // their values
+        int shift = 64;        // number of key bits not fixed yet
+        int candidates = high - low + 1;
+        int rank = k;
+
+        while (shift > 0 && candidates > READ_ONLY_GATHER_LIMIT) {
+            int width = Math.min(READ_ONLY_DIGIT_BITS, shift);
+            int digitMask = (1 << width) - 1;
+            histogramPass(arr, low, high, histogram, prefixMask, prefix, shift - width, width);
+
+            int digit = 0;
+            while (rank >= histogram[digit]) {
+                rank -= histogram[digit++];
+            }
+            shift -= width;
+            prefixMask |= (long) digitMask << shift;
+            prefix |= (long) digit << shift;
+            candidates = histogram[digit];
+        }
+
+        if (shift == 0) {
+            // All 64 key bits are fixed: every remaining candidate is the same value.
+            return fromSortableKey(prefix);
+        }
+
+        // Every value is written and the cursor only advances on a match; the spare last slot
+        // is then set to NaN, the largest key, so it cannot take any of the ranks below it.
+        double[] gathered = new double[candidates + 1];
+        int count = 0;
         for (int i = low; i <= high; i++) {
-            if (arr[i] == pivot) {
-                swap(arr, i, high);
-                break;
+            double value = arr[i];
+            gathered[count] = value;
+            count += (RadixSort.sortableKey(value) & prefixMask) == prefix ? 1 : 0;
+        }
+        gathered[candidates] = Double.NaN;
+        // Arrays.sort orders by Double.compare, the order of the sortable keys, so NaN and -0.0 land
+        // where the passes ranked them.
+        Arrays.sort(gathered);
+        return gathered[rank];
+    }
+
+    // One selectReadOnly pass: counts the width-bit digit at digitShift of every key matching the
+    // prefix, and counts the other keys in the sink slot histogram[1 << width].
+    private static void histogramPass(double[] arr, int low, int high, int[] histogram,
+                                      long prefixMask, long prefix, int digitShift, int width) {
+        int digitMask = (1 << width) - 1;
+        int sink = 1 << width;
+        Arrays.fill(histogram, 0, sink + 1, 0);
+        for (int i = low; i <= high; i++) {
+            long key = RadixSort.sortableKey(arr[i]);
+            long diff = (key & prefixMask) ^ prefix;
+            int miss = (int) ((diff | -diff) >>> 63);   // 1 when the key is outside the prefix
+            histogram[((int) (key >>> digitShift) & digitMask & (miss - 1)) | (sink & -miss)]++;
+        }
+    }
+
+    public static double selectReadOnly(double[] arr, int k) {
+        return selectReadOnly(arr, 0, arr.length - 1, k);
+    }
+
+    // Inverse of RadixSort.sortableKey.
+    private static double fromSortableKey(long key) {
+        return Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+    }
+
+    // Parallel median-of-medians select on a dedicated fork-join pool. Each level computes the
+    // group medians in parallel blocks, selects their median recursively (in parallel while the
+    // medians are many), and partitions block-parallel: every block counts its <, == and > keys,
+    // a prefix sum over the counts gives each block its output offsets, and the blocks scatter
+    // into a private buffer at the same time, then copy the partitioned range back. The search
+    // continues on the side holding rank k. The pivot still guarantees a 3/10 reduction per level,
+    // so the total work, copy included, stays linear. Ranges of at most PARALLEL_SELECT_THRESHOLD
+    // elements finish with the sequential select.
+    // Like select, arr stays a permutation of its input with the element of rank k at arr[k], so
+    // the same array can be queried again; ranks follow Double.compare.
+    public static double parallelSelect(double[] arr, int k, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("k must be in [0, " + arr.length + ")");
+        }
+        if (parallelism == 1 || arr.length <= PARALLEL_SELECT_THRESHOLD) {
+            return select(arr, 0, arr.length - 1, k);
+        }
+
+        maxRecursionDepth = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(ForkJoinTask.adapt(() -> parallelSelect(arr, new double[arr.length], 0, arr.length - 1, k, 4 * parallelism)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Body of parallelSelect; runs inside the pool. blocks is the number of blocks per pass, and
+    // buffer is scratch space at least as long as arr.
+    private static double parallelSelect(double[] arr, double[] buffer, int low, int high, int target, int blocks) {
+        while (high - low + 1 > PARALLEL_SELECT_THRESHOLD) {
+            double pivot = parallelMoMPivot(arr, low, high, blocks);
+
+            int n = high - low + 1;
+            int blockCount = Math.max(1, Math.min(blocks, n / PARALLEL_MIN_BLOCK));
+            int[] less = new int[blockCount];
+            int[] equal = new int[blockCount];
+            int base = low;
+            forEachBlock(blockCount, b -> {
+                int lessCount = 0;
+                int equalCount = 0;
+                for (int i = blockStart(base, n, blockCount, b), end = blockStart(base, n, blockCount, b + 1); i < end; i++) {
+                    int order = Double.compare(arr[i], pivot);
+                    if (order < 0) {
+                        lessCount++;
+                    } else if (order == 0) {
+                        equalCount++;
+                    }
+                }
+                less[b] = lessCount;
+                equal[b] = equalCount;
+            });
+
+            int totalLess = 0;
+            int totalEqual = 0;
+            for (int b = 0; b < blockCount; b++) {
+                totalLess += less[b];
+                totalEqual += equal[b];
+            }
+            // Exclusive prefix sums: where every block writes its <, == and > keys.
+            int[] lessAt = new int[blockCount];
+            int[] equalAt = new int[blockCount];
+            int[] greaterAt = new int[blockCount];
+            int nextLess = low;
+            int nextEqual = low + totalLess;
+            int nextGreater = low + totalLess + totalEqual;
+            for (int b = 0; b < blockCount; b++) {
+                lessAt[b] = nextLess;
+                equalAt[b] = nextEqual;
+                greaterAt[b] = nextGreater;
+                int size = blockStart(low, n, blockCount, b + 1) - blockStart(low, n, blockCount, b);
+                nextLess += less[b];
+                nextEqual += equal[b];
+                nextGreater += size - less[b] - equal[b];
+            }
+            forEachBlock(blockCount, b -> {
+                int l = lessAt[b];
+                int e = equalAt[b];
+                int g = greaterAt[b];
+                for (int i = blockStart(base, n, blockCount, b), end = blockStart(base, n, blockCount, b + 1); i < end; i++) {
+                    double value = arr[i];
+                    int order = Double.compare(value, pivot);
+                    if (order < 0) {
+                        buffer[l++] = value;
+                    } else if (order == 0) {
+                        buffer[e++] = value;
+                    } else {
+                        buffer[g++] = value;
+                    }
+                }
+            });
+            // The scatter crosses block boundaries, so the copy back waits for all of it.
+            forEachBlock(blockCount, b -> {
+                int start = blockStart(base, n, blockCount, b);
+                System.arraycopy(buffer, start, arr, start, blockStart(base, n, blockCount, b + 1) - start);
+            });
+
+            if (target < low + totalLess) {
+                high = low + totalLess - 1;
+            } else if (target < low + totalLess + totalEqual) {
+                return pivot;
+            } else {
+                low += totalLess + totalEqual;
+            }
+        }
+        return arr[selectIndex(arr, low, high, target, 0)];
+    }
+
+    // Median of the group medians of src[low..high]; the medians are computed in parallel blocks.
+    private static double parallelMoMPivot(double[] src, int low, int high, int blocks) {
+        int numGroups = (high - low + 5) / 5;
+        double[] medians = new double[numGroups];
+        int blockCount = Math.max(1, Math.min(blocks, numGroups / (PARALLEL_MIN_BLOCK / 5)));
+        forEachBlock(blockCount, b -> {
+            for (int g = blockStart(0, numGroups, blockCount, b), end = blockStart(0, numGroups, blockCount, b + 1); g < end; g++) {
+                int groupLow = low + g * 5;
+                medians[g] = src[medianOfSmallArray(src, groupLow, Math.min(groupLow + 4, high))];
+            }
+        });
+
+        if (numGroups > PARALLEL_SELECT_THRESHOLD) {
+            return parallelSelect(medians, new double[numGroups], 0, numGroups - 1, numGroups / 2, blocks);
+        }
+        return medians[selectIndex(medians, 0, numGroups - 1, numGroups / 2, 1)];
+    }
+
+    // First index of block b when n elements starting at base are cut into blockCount blocks.
+    private static int blockStart(int base, int n, int blockCount, int b) {
+        return base + (int) ((long) n * b / blockCount);
+    }
+
+    // Runs body(0) .. body(count - 1) as parallel fork-join tasks and waits for all of them.
+    private static void forEachBlock(int count, IntConsumer body) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int b = 0; b < count; b++) {
+            int block = b;
+            tasks.add(ForkJoinTask.adapt(() -> body.accept(block)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    public static int getMomFallbacks() {
+        return momFallbacks;
+    }
+
+    public static int getMaxRecursionDepth() {
+        return maxRecursionDepth;
+    }
+
+
+    // Rearranges arr[low..high] so the element of absolute index target is in its sorted position,
+    // and returns that index.
+    private static int selectIndex(double[] arr, int low, int high, int target, int depth) {
+        return selectIndex(arr, low, high, target, depth, 1);
+    }
+
+    // Same, but ranges of at most cutoff elements are insertion-sorted instead of partitioned.
+    private static int selectIndex(double[] arr, int low, int high, int target, int depth, int cutoff) {
+        if (depth > maxRecursionDepth) {
+            maxRecursionDepth = depth;
+        }
+        if (high - low < cutoff) {
+            medianOfSmallArray(arr, low, high);
+            return target;
+        }
+
+        // 1. Find the guaranteed 'good' pivot (Median-of-Medians).
+        double pivotValue = arr[findMoMPivot(arr, low, high, depth, cutoff)];
+
+        // 2. Partition the array around the MoM pivot.
+        int lt = partitionLess(arr, low, high, pivotValue);
+        if (target < lt) {
+
+            return selectIndex(arr, low, lt - 1, target, depth + 1, cutoff);
+        }
+        // The pass over the equal keys is only needed when the target is not on the left.
+        int gt = partitionEqual(arr, lt, high, pivotValue);
+
+        // Recurse only into the needed side.
+        if (target > gt) {
+
+            return selectIndex(arr, gt + 1, high, target, depth + 1, cutoff);
+        } else {
+
+            return target;
+        }
+    }
+
+    // Places every rank in sortedRanks[from..to] (all within [low, high]) in its sorted position.
+    private static void selectMany(double[] arr, int low, int high, int[] sortedRanks, int from, int to, int depth) {
+        if (from > to || low >= high) {
+            return;
+        }
+        if (from == to) {
+            selectIndex(arr, low, high, sortedRanks[from], depth);
+            return;
+        }
+        if (depth > maxRecursionDepth) {
+            maxRecursionDepth = depth;
+        }
+
+        double pivotValue = arr[findMoMPivot(arr, low, high, depth, 1)];
+        int lt = partitionLess(arr, low, high, pivotValue);
+        int gt = partitionEqual(arr, lt, high, pivotValue);
+
+        // ranks in [lt, gt] are already in place; split the rest between the two sides.
+        int leftEnd = firstRankAtLeast(sortedRanks, from, to, lt) - 1;
+        int rightStart = firstRankAtLeast(sortedRanks, from, to, gt + 1);
+
+        selectMany(arr, low, lt - 1, sortedRanks, from, leftEnd, depth + 1);
+        selectMany(arr, gt + 1, high, sortedRanks, rightStart, to, depth + 1);
+    }
+
+
+    // Binary search: first position p in sortedRanks[from..to] with sortedRanks[p] >= value, or to + 1.
+    private static int firstRankAtLeast(int[] sortedRanks, int from, int to, int value) {
+        int lo = from;
+        int hi = to + 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedRanks[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+
+    // Randomized quickselect with a work budget: once the partition passes have scanned more than
+    // INTRO_WORK_FACTOR * n elements (expected cost is about 3.4n for the median), the remaining
+    // range is handed to selectIndex. The work before the fallback is O(n) and the fallback is
+    // linear, so the worst case stays linear.
+    private static int introSelectIndex(double[] arr, int low, int high, int target) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long budget = (long) INTRO_WORK_FACTOR * (high - low + 1);
+
+        while (low < high) {
+            if (budget < 0) {
+                momFallbacks++;
+                return selectIndex(arr, low, high, target, 0);
+            }
+            budget -= high - low + 1;
+
+            double pivotValue = arr[low + random.nextInt(high - low + 1)];
+            int lt = partitionLess(arr, low, high, pivotValue);
+            if (target < lt) {
+                high = lt - 1;
+            } else {
+                budget -= high - lt + 1;
+                int gt = partitionEqual(arr, lt, high, pivotValue);
+                if (target <= gt) {
+                    return target;
+                }
+                low = gt + 1;
             }
         }
+        return low;
+    }
+
+    // swap two elements.
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    // select for int[] keys: the same median-of-medians algorithm as select(double[], ...),
+    // in place on the int[] itself.
+    public static int select(int[] arr, int low, int high, int k) {
+        maxRecursionDepth = 0;
+        return arr[selectIndex(arr, low, high, low + k, 0)];
+    }
 
-        // Standard in-place partition (Lomuto's or Hoare's, here is a simple version)
-        double pivotValue =arr[high];
+    private static int medianOfSmallArray(int[] arr, int low, int high) {
+        // Simple Insertion Sort for the small group
+        for (int i = low + 1; i <= high; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+        // The median is at the middle index
+        return low + (high - low) / 2;
+    }
+
+    private static int findMoMPivot(int[] arr, int low, int high, int depth) {
+        int n = high - low + 1; // size of the current sub-array
+        if (n <= 5) {
+            return medianOfSmallArray(arr, low, high);
+        }
+
+        // 1. Group by 5, find the median of each group and move it to the front.
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLow = low + i * 5;
+            int groupHigh = Math.min(groupLow + 4, high);
+
+            // Find the median of the current group
+            swap(arr, low + i, medianOfSmallArray(arr, groupLow, groupHigh));
+        }
+
+        // 2. Recursively find the median of the medians (MoM) inside the prefix.
+
+        return selectIndex(arr, low, low + numGroups - 1, low + numGroups / 2, depth + 1);
+    }
+
+    private static int partitionLess(int[] arr, int low, int high, int pivot) {
         int i = low; // Index of smaller element
 
-        for (int j =low; j < high; j++) {
-            if (arr[j] <=pivotValue) {
+        for (int j = low; j <= high; j++) {
+            if (arr[j] < pivot) {
                 swap(arr, i, j);
                 i++;
             }
         }
-        // Put the pivot back into its final sorted position
-        swap(arr, i, high);
         return i;
     }
 
+    private static int partitionEqual(int[] arr, int low, int high, int pivot) {
+        int i = low;
 
-    public static double select(double[] arr, int low, int high, int k) {
+        for (int j = low; j <= high; j++) {
+            if (arr[j] == pivot) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i - 1;
+    }
+
+    private static int selectIndex(int[] arr, int low, int high, int target, int depth) {
+        if (depth > maxRecursionDepth) {
+            maxRecursionDepth = depth;
+        }
+        if (low == high) {
+            return low;
+        }
+
+        // 1. Find the guaranteed 'good' pivot (Median-of-Medians).
+        int pivotValue = arr[findMoMPivot(arr, low, high, depth)];
+
+        // 2. Partition the array around the MoM pivot.
+        int lt = partitionLess(arr, low, high, pivotValue);
+        if (target < lt) {
+
+            return selectIndex(arr, low, lt - 1, target, depth + 1);
+        }
+        // The pass over the equal keys is only needed when the target is not on the left.
+        int gt = partitionEqual(arr, lt, high, pivotValue);
+
+        // Recurse only into the needed side.
+        if (target > gt) {
+
+            return selectIndex(arr, gt + 1, high, target, depth + 1);
+        } else {
+
+            return target;
+        }
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    // select for long[] keys: the same median-of-medians algorithm as select(double[], ...),
+    // without widening the keys to double (which would lose precision for large longs).
+    public static long select(long[] arr, int low, int high, int k) {
+        maxRecursionDepth = 0;
+        return arr[selectIndex(arr, low, high, low + k, 0)];
+    }
+
+    private static int medianOfSmallArray(long[] arr, int low, int high) {
+        // Simple Insertion Sort for the small group
+        for (int i = low + 1; i <= high; i++) {
+            long key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+        // The median is at the middle index
+        return low + (high - low) / 2;
+    }
+
+    private static int findMoMPivot(long[] arr, int low, int high, int depth) {
+        int n = high - low + 1; // size of the current sub-array
+        if (n <= 5) {
+            return medianOfSmallArray(arr, low, high);
+        }
+
+        // 1. Group by 5, find the median of each group and move it to the front.
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLow = low + i * 5;
+            int groupHigh = Math.min(groupLow + 4, high);
+
+            // Find the median of the current group
+            swap(arr, low + i, medianOfSmallArray(arr, groupLow, groupHigh));
+        }
+
+        // 2. Recursively find the median of the medians (MoM) inside the prefix.
+
+        return selectIndex(arr, low, low + numGroups - 1, low + numGroups / 2, depth + 1);
+    }
+
+    private static int partitionLess(long[] arr, int low, int high, long pivot) {
+        int i = low; // Index of smaller element
+
+        for (int j = low; j <= high; j++) {
+            if (arr[j] < pivot) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int partitionEqual(long[] arr, int low, int high, long pivot) {
+        int i = low;
+
+        for (int j = low; j <= high; j++) {
+            if (arr[j] == pivot) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i - 1;
+    }
+
+    private static int selectIndex(long[] arr, int low, int high, int target, int depth) {
+        if (depth > maxRecursionDepth) {
+            maxRecursionDepth = depth;
+        }
         if (low == high) {
-            return arr[low];
+            return low;
         }
 
         // 1. Find the guaranteed 'good' pivot (Median-of-Medians).
-        double pivotValue = findMoMPivot(arr, low, high);
+        long pivotValue = arr[findMoMPivot(arr, low, high, depth)];
 
         // 2. Partition the array around the MoM pivot.
-        int pivotIndex = partition(arr, low, high, pivotValue);
+        int lt = partitionLess(arr, low, high, pivotValue);
+        if (target < lt) {
 
-        // Calculate the rank of the pivot (number of elements less than or equal to pivot)
-        int pivotRank = pivotIndex - low;
+            return selectIndex(arr, low, lt - 1, target, depth + 1);
+        }
+        // The pass over the equal keys is only needed when the target is not on the left.
+        int gt = partitionEqual(arr, lt, high, pivotValue);
 
         // Recurse only into the needed side.
-        if (k == pivotRank) {
+        if (target > gt) {
+
+            return selectIndex(arr, gt + 1, high, target, depth + 1);
+        } else {
+
+            return target;
+        }
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    // select for float[] keys: the same median-of-medians algorithm as select(double[], ...),
+    // in place on the float[] itself. Ranks follow Float.compare, like the double[] version.
+    public static float select(float[] arr, int low, int high, int k) {
+        maxRecursionDepth = 0;
+        return arr[selectIndex(arr, low, high, low + k, 0)];
+    }
+
+    private static int medianOfSmallArray(float[] arr, int low, int high) {
+        // Simple Insertion Sort for the small group
+        for (int i = low + 1; i <= high; i++) {
+            float key = arr[i];
+            int j = i - 1;
+            while (j >= low && Float.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+        // The median is at the middle index
+        return low + (high - low) / 2;
+    }
+
+    private static int findMoMPivot(float[] arr, int low, int high, int depth) {
+        int n = high - low + 1; // size of the current sub-array
+        if (n <= 5) {
+            return medianOfSmallArray(arr, low, high);
+        }
+
+        // 1. Group by 5, find the median of each group and move it to the front.
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLow = low + i * 5;
+            int groupHigh = Math.min(groupLow + 4, high);
+
+            // Find the median of the current group
+            swap(arr, low + i, medianOfSmallArray(arr, groupLow, groupHigh));
+        }
+
+        // 2. Recursively find the median of the medians (MoM) inside the prefix.
+
+        return selectIndex(arr, low, low + numGroups - 1, low + numGroups / 2, depth + 1);
+    }
+
+    private static int partitionLess(float[] arr, int low, int high, float pivot) {
+        int i = low; // Index of smaller element
+
+        for (int j = low; j <= high; j++) {
+            if (Float.compare(arr[j], pivot) < 0) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i;
+    }
 
-            return arr[pivotIndex];
-        } else if (k < pivotRank) {
+    private static int partitionEqual(float[] arr, int low, int high, float pivot) {
+        int i = low;
 
-            return select(arr, low, pivotIndex - 1, k);
+        for (int j = low; j <= high; j++) {
+            if (Float.compare(arr[j], pivot) == 0) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+        return i - 1;
+    }
+
+    private static int selectIndex(float[] arr, int low, int high, int target, int depth) {
+        if (depth > maxRecursionDepth) {
+            maxRecursionDepth = depth;
+        }
+        if (low == high) {
+            return low;
+        }
+
+        // 1. Find the guaranteed 'good' pivot (Median-of-Medians).
+        float pivotValue = arr[findMoMPivot(arr, low, high, depth)];
+
+        // 2. Partition the array around the MoM pivot.
+        int lt = partitionLess(arr, low, high, pivotValue);
+        if (target < lt) {
+
+            return selectIndex(arr, low, lt - 1, target, depth + 1);
+        }
+        // The pass over the equal keys is only needed when the target is not on the left.
+        int gt = partitionEqual(arr, lt, high, pivotValue);
+
+        // Recurse only into the needed side.
+        if (target > gt) {
+
+            return selectIndex(arr, gt + 1, high, target, depth + 1);
         } else {
 
-            return select(arr, pivotIndex + 1, high, k - pivotRank - 1);
+            return target;
         }
     }
 
-    // swap two elements.
-    private static void swap(double[] arr, int i, int j) {
-        double temp = arr[i];
+    private static void swap(float[] arr, int i, int j) {
+        float temp = arr[i];
         arr[i] = arr[j];
         arr[j] = temp;
     }
@@ -0,0 +1,282 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+// Test
+public class DeterSelectTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    /**
+     * Generates a random array where the given fraction of the elements is NaN, with a few
+     * signed zeros mixed in.
+     */
+    private static double[] generateWithNaN(int size, double nanFraction) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            double p = RANDOM.nextDouble();
+            arr[i] = p < nanFraction ? Double.NaN : p < nanFraction + 0.05 ? (RANDOM.nextBoolean() ? -0.0 : 0.0)
+                    : RANDOM.nextDouble() * 1000 - 500;
+        }
+        return arr;
+    }
+
+    /**
+     * Runs one query on a copy of the input and checks it against Arrays.sort (the order of
+     * Double.compare), and that the copy is still a permutation of the input.
+     */
+    private static void runSelectTest(String name, double[] input, int k, ToDoubleBiFunction<double[], Integer> select) {
+        totalTests++;
+        double[] expected = Arrays.copyOf(input, input.length);
+        Arrays.sort(expected);
+
+        double[] arr = Arrays.copyOf(input, input.length);
+        boolean correctnessPassed;
+        boolean permutationPassed;
+        try {
+            double actual = select.applyAsDouble(arr, k);
+            correctnessPassed = Double.compare(actual, expected[k]) == 0;
+            permutationPassed = isPermutation(arr, expected);
+        } catch (RuntimeException | StackOverflowError e) {
+            System.out.println("  " + e);
+            correctnessPassed = false;
+            permutationPassed = false;
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d, k=%d)\n", name, input.length, k);
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+        System.out.printf("Permutation Check: %s\n", permutationPassed ? "PASSED" : "FAILED");
+        if (!correctnessPassed || !permutationPassed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Runs several queries in a row on the same array, as a caller asking for p50 then p99 would,
+     * and checks every answer against Arrays.sort and that the array is still a permutation.
+     */
+    private static void runRepeatedQueryTest(String name, double[] input, int[] ranks, ToDoubleBiFunction<double[], Integer> select) {
+        totalTests++;
+        double[] expected = Arrays.copyOf(input, input.length);
+        Arrays.sort(expected);
+
+        double[] arr = Arrays.copyOf(input, input.length);
+        boolean correctnessPassed = true;
+        for (int k : ranks) {
+            correctnessPassed &= Double.compare(select.applyAsDouble(arr, k), expected[k]) == 0;
+        }
+        boolean permutationPassed = isPermutation(arr, expected);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d, ranks=%s)\n", name, input.length, Arrays.toString(ranks));
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+        System.out.printf("Permutation Check: %s\n", permutationPassed ? "PASSED" : "FAILED");
+        if (!correctnessPassed || !permutationPassed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Runs selectMany and select on the same inclusive range arr[low..high] and checks both
+     * against Arrays.sort of that range: the returned values, that arr[low + r] holds rank r
+     * afterwards, and that nothing outside the range moved.
+     */
+    private static void runSelectManyTest(String name, double[] input, int low, int high, int[] ranks) {
+        totalTests++;
+        double[] expected = Arrays.copyOfRange(input, low, high + 1);
+        Arrays.sort(expected);
+
+        double[] arr = Arrays.copyOf(input, input.length);
+        double[] values = low == 0 && high == input.length - 1
+                ? DeterSelect.selectMany(arr, ranks) : DeterSelect.selectMany(arr, low, high, ranks);
+        boolean correctnessPassed = values.length == ranks.length;
+        for (int i = 0; correctnessPassed && i < ranks.length; i++) {
+            correctnessPassed = Double.compare(values[i], expected[ranks[i]]) == 0
+                    && Double.compare(arr[low + ranks[i]], expected[ranks[i]]) == 0;
+        }
+        // The same bounds mean the same element for select.
+        for (int k : ranks) {
+            double[] single = Arrays.copyOf(input, input.length);
+            correctnessPassed &= Double.compare(DeterSelect.select(single, low, high, k), expected[k]) == 0;
+        }
+        boolean rangePassed = Arrays.equals(arr, 0, low, input, 0, low)
+                && Arrays.equals(arr, high + 1, arr.length, input, high + 1, input.length)
+                && isPermutation(Arrays.copyOfRange(arr, low, high + 1), expected);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d, range=[%d, %d], ranks=%s)\n", name, input.length, low, high, Arrays.toString(ranks));
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+        System.out.printf("Range Check: %s\n", rangePassed ? "PASSED" : "FAILED");
+        if (!correctnessPassed || !rangePassed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Checks that selectMany rejects the bounds or ranks.
+     */
+    private static void runSelectManyRejectTest(String name, int n, int low, int high, int[] ranks) {
+        totalTests++;
+        boolean passed;
+        try {
+            DeterSelect.selectMany(new double[n], low, high, ranks);
+            passed = false;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            passed = true;
+        }
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d, range=[%d, %d], ranks=%s)\n", name, n, low, high, Arrays.toString(ranks));
+        System.out.printf("Rejection Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Queries selectReadOnly at the given ranks of input[low..high] and checks every answer
+     * against Arrays.sort of that range, and that the input is left unchanged.
+     */
+    private static void runReadOnlyTest(String name, double[] input, int low, int high, int[] ranks) {
+        totalTests++;
+        double[] expected = Arrays.copyOfRange(input, low, high + 1);
+        Arrays.sort(expected);
+
+        double[] arr = Arrays.copyOf(input, input.length);
+        boolean correctnessPassed = true;
+        for (int k : ranks) {
+            correctnessPassed &= Double.compare(DeterSelect.selectReadOnly(arr, low, high, k), expected[k]) == 0;
+        }
+        // Arrays.equals compares bit patterns, so a NaN or signed zero moved elsewhere is caught too.
+        boolean unchangedPassed = Arrays.equals(arr, input);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d, range=[%d, %d], %d ranks)\n", name, input.length, low, high, ranks.length);
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+        System.out.printf("Unchanged Check: %s\n", unchangedPassed ? "PASSED" : "FAILED");
+        if (!correctnessPassed || !unchangedPassed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Every rank of a range of the given length, or an even spread of them for long ranges.
+     */
+    private static int[] ranksOf(int length) {
+        int step = Math.max(1, length / 50);
+        int[] ranks = new int[(length - 1) / step + 2];
+        for (int i = 0; i < ranks.length - 1; i++) {
+            ranks[i] = i * step;
+        }
+        ranks[ranks.length - 1] = length - 1;
+        return ranks;
+    }
+
+    /**
+     * Checks that arr holds exactly the values of sortedExpected.
+     */
+    private static boolean isPermutation(double[] arr, double[] sortedExpected) {
+        double[] sorted = Arrays.copyOf(arr, arr.length);
+        Arrays.sort(sorted);
+        return Arrays.equals(sorted, sortedExpected);
+    }
+
+    /**
+     * Runs the NaN and signed-zero cases for one select entry point.
+     */
+    private static void runNaNTests(String mode, ToDoubleBiFunction<double[], Integer> select) {
+        double[] allNaN = new double[1000];
+        Arrays.fill(allNaN, Double.NaN);
+        runSelectTest(mode + ": All NaN", allNaN, 500, select);
+
+        double[] someNaN = generateWithNaN(20000, 0.1);
+        runSelectTest(mode + ": 10% NaN, median", someNaN, someNaN.length / 2, select);
+        runSelectTest(mode + ": 10% NaN, rank inside the NaNs", someNaN, someNaN.length - 10, select);
+        runSelectTest(mode + ": 10% NaN, minimum", someNaN, 0, select);
+
+        double[] mostlyNaN = generateWithNaN(5000, 0.9);
+        runSelectTest(mode + ": 90% NaN, rank below the NaNs", mostlyNaN, 100, select);
+
+        double[] zeros = {0.0, -0.0, Double.NaN, 0.0, -0.0, 1.0, -1.0, Double.NaN};
+        for (int k = 0; k < zeros.length; k++) {
+            runSelectTest(mode + ": Signed Zeros and NaN", zeros, k, select);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- DeterSelect Tests ---");
+
+        // 1. Median-of-medians select: NaN must not stall the partition
+        runNaNTests("select", (arr, k) -> DeterSelect.select(arr, 0, arr.length - 1, k));
+        runNaNTests("argselect", (arr, k) -> arr[DeterSelect.argselect(arr, k)]);
+
+        // 2. Introselect: the quickselect loop and its median-of-medians fallback share the partition
+        runNaNTests("introSelect", (arr, k) -> DeterSelect.introSelect(arr, 0, arr.length - 1, k));
+        runNaNTests("introSelector", (arr, k) -> DeterSelect.introSelector().select(arr, 0, arr.length, k));
+
+        // 3. Parallel select: arr must stay a permutation so it can be queried again
+        ToDoubleBiFunction<double[], Integer> parallel = (arr, k) -> DeterSelect.parallelSelect(arr, k, 4);
+        int n = 200_000;
+        int[] p50p99 = {n / 2, n * 99 / 100};
+        double[] random = new double[n];
+        for (int i = 0; i < n; i++) {
+            random[i] = RANDOM.nextDouble() * n;
+        }
+        runRepeatedQueryTest("parallelSelect: Random, p50 then p99", random, p50p99, parallel);
+        double[] fewUnique = new double[n];
+        for (int i = 0; i < n; i++) {
+            fewUnique[i] = RANDOM.nextInt(8);
+        }
+        runRepeatedQueryTest("parallelSelect: Few Unique, p50 then p99", fewUnique, p50p99, parallel);
+        runRepeatedQueryTest("parallelSelect: 10% NaN, p50, p99 then max", generateWithNaN(n, 0.1),
+                new int[] {n / 2, n * 99 / 100, n - 1}, parallel);
+
+        // 4. Several ranks in one pass, with the same inclusive bounds as select
+        double[] percentiles = generateWithNaN(100_000, 0.01);
+        int[] p50p90p99 = {50_000, 89_999, 98_999, 0, 99_999};
+        runSelectManyTest("selectMany: Whole Array, Unsorted Ranks", percentiles, 0, percentiles.length - 1, p50p90p99);
+        runSelectManyTest("selectMany: Sub-range", percentiles, 10_000, 59_999, new int[] {0, 25_000, 49_999, 25_000});
+        runSelectManyTest("selectMany: Single-element Range", percentiles, 777, 777, new int[] {0});
+        runSelectManyTest("selectMany: No Ranks", percentiles, 0, 99, new int[0]);
+        double[] fewUniqueMany = new double[10_000];
+        for (int i = 0; i < fewUniqueMany.length; i++) {
+            fewUniqueMany[i] = RANDOM.nextInt(5);
+        }
+        runSelectManyTest("selectMany: Few Unique, Sub-range", fewUniqueMany, 1, 9_998, new int[] {0, 1, 5_000, 9_997});
+        runSelectManyTest("selectMany: Signed Zeros and NaN", new double[] {0.0, -0.0, Double.NaN, 0.0, -0.0, 1.0, -1.0, Double.NaN},
+                0, 7, new int[] {0, 1, 2, 3, 4, 5, 6, 7});
+        runSelectManyRejectTest("selectMany: Rank Past the Inclusive High", 100, 10, 19, new int[] {10});
+        runSelectManyRejectTest("selectMany: Negative Rank", 100, 0, 99, new int[] {-1});
+        runSelectManyRejectTest("selectMany: High Past the Array", 100, 0, 100, new int[] {0});
+
+        // 5. Read-only select: must rank like Arrays.sort without writing to the input
+        for (int size : new int[] {1, 7, 1000, 1025, 100_000}) {
+            double[] withNaN = generateWithNaN(size, 0.1);
+            runReadOnlyTest("selectReadOnly: 10% NaN and signed zeros", withNaN, 0, size - 1, ranksOf(size));
+            int low = size / 3;
+            int high = size - 1 - size / 4;
+            runReadOnlyTest("selectReadOnly: 10% NaN, sub-range", withNaN, low, high, ranksOf(high - low + 1));
+        }
+        double[] zerosAndNaN = new double[5000];
+        for (int i = 0; i < zerosAndNaN.length; i++) {
+            int p = RANDOM.nextInt(3);
+            zerosAndNaN[i] = p == 0 ? -0.0 : p == 1 ? 0.0 : Double.NaN;
+        }
+        runReadOnlyTest("selectReadOnly: Only Signed Zeros and NaN", zerosAndNaN, 0, zerosAndNaN.length - 1, ranksOf(zerosAndNaN.length));
+        runReadOnlyTest("selectReadOnly: Only Signed Zeros and NaN, sub-range", zerosAndNaN, 1000, 3999, ranksOf(3000));
+        double[] narrow = new double[100_000];
+        for (int i = 0; i < narrow.length; i++) {
+            // Values sharing all but their last mantissa bits force every histogram pass.
+            narrow[i] = 1.0 + RANDOM.nextInt(4096) * Math.ulp(1.0);
+        }
+        runReadOnlyTest("selectReadOnly: Narrow Range", narrow, 0, narrow.length - 1, ranksOf(narrow.length));
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: DeterSelect ranks NaN and signed zeros like Arrays.sort.");
+        }
+    }
+}
@@ -0,0 +1,357 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * External MergeSort for files of doubles that do not fit on the heap.
+ * The file format is raw IEEE-754 doubles in big-endian order (what DataOutputStream and
+ * ByteBuffer write by default), and the output has the same format.
+ * Features:
+ * - Run formation: the input is memory-mapped chunk by chunk (FileChannel.map), each chunk
+ *   is sorted with the in-memory MergeSort through one reused MergeSorter, and written out
+ *   as a sorted run. Only the chunk and its scratch buffer live on the heap.
+ * - Merging: up to maxFanIn runs are merged at a time with a primitive min-heap of run
+ *   indices keyed by the current head of each run; each run is read through its own
+ *   direct buffer and the output goes through one large buffer, so all I/O is sequential.
+ *   More runs than maxFanIn take extra merge passes.
+ * - Bytes read and written and the elapsed time of every pass are recorded (getPasses()).
+ */
+public class ExternalMergeSort {
+
+    // Default number of runs merged at once.
+    private static final int DEFAULT_MAX_FAN_IN = 64;
+
+    // Size of the output buffer and of the run-formation write buffer.
+    private static final int OUTPUT_BUFFER_BYTES = 8 << 20;
+
+    // Heap memory shared by the input buffers of one merge, and the minimum per run.
+    private static final int MERGE_BUFFER_BYTES = 64 << 20;
+    private static final int MIN_RUN_BUFFER_BYTES = 64 << 10;
+
+    /**
+     * I/O statistics of one pass over the data.
+     */
+    public static final class Pass {
+        final String name;
+        final long bytesRead;
+        final long bytesWritten;
+        final long nanos;
+
+        Pass(String name, long bytesRead, long bytesWritten, long nanos) {
+            this.name = name;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return The bytes read plus written per second, in MB/s.
+         */
+        public double throughputMBps() {
+            return (bytesRead + bytesWritten) / 1e6 / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s read %,15d B  written %,15d B  %10.2f ms  %8.1f MB/s",
+                    name, bytesRead, bytesWritten, nanos / 1e6, throughputMBps());
+        }
+    }
+
+    // Passes of the last sort (metrics only).
+    private static List<Pass> passes = Collections.emptyList();
+
+    /**
+     * Sorts the doubles of input into output with the default fan-in.
+     * @param input The file to sort; it is not modified.
+     * @param output The file to write; it is created or truncated.
+     * @param chunkElements The number of doubles sorted in memory at a time.
+     */
+    public static void sort(Path input, Path output, int chunkElements) throws IOException {
+        sort(input, output, chunkElements, DEFAULT_MAX_FAN_IN);
+    }
+
+    /**
+     * Sorts the doubles of input into output.
+     * @param input The file to sort; it is not modified.
+     * @param output The file to write; it is created or truncated.
+     * @param chunkElements The number of doubles sorted in memory at a time; the heap needs
+     *                      about 16 bytes per element (the chunk and its scratch buffer).
+     * @param maxFanIn The maximum number of runs merged at once (at least 2).
+     */
+    public static void sort(Path input, Path output, int chunkElements, int maxFanIn) throws IOException {
+        if (chunkElements < 1 || chunkElements > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("chunkElements must be in [1, " + Integer.MAX_VALUE / Double.BYTES + "]: " + chunkElements);
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("maxFanIn must be at least 2: " + maxFanIn);
+        }
+
+        List<Pass> stats = new ArrayList<>();
+        Path directory = output.toAbsolutePath().getParent();
+        Path runs = Files.createTempFile(directory, "runs", ".tmp");
+        Path merged = null;
+        try {
+            long[] runStarts = formRuns(input, runs, chunkElements, stats);
+
+            // Merge groups of runs until at most maxFanIn remain, then merge those into output.
+            int pass = 1;
+            while (runStarts.length - 1 > maxFanIn) {
+                if (merged == null) {
+                    merged = Files.createTempFile(directory, "runs", ".tmp");
+                }
+                runStarts = mergePass(runs, merged, runStarts, maxFanIn, "merge pass " + pass++, stats);
+                Path swap = runs;
+                runs = merged;
+                merged = swap;
+            }
+            mergePass(runs, output, runStarts, maxFanIn, "final merge", stats);
+        } finally {
+            Files.deleteIfExists(runs);
+            if (merged != null) {
+                Files.deleteIfExists(merged);
+            }
+        }
+        passes = Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * @return The passes of the last sort, in order.
+     */
+    public static List<Pass> getPasses() {
+        return passes;
+    }
+
+    /**
+     * Sorts the input chunk by chunk into consecutive runs of the runs file.
+     * @return The run boundaries in elements: run r is [starts[r], starts[r + 1]).
+     */
+    private static long[] formRuns(Path input, Path runs, int chunkElements, List<Pass> stats) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(runs, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size % Double.BYTES != 0) {
+                throw new IllegalArgumentException("input length " + size + " is not a multiple of " + Double.BYTES);
+            }
+            long elements = size / Double.BYTES;
+            int runCount = (int) Math.max(1, (elements + chunkElements - 1) / chunkElements);
+            long[] starts = new long[runCount + 1];
+
+            double[] chunk = new double[(int) Math.min(chunkElements, elements)];
+            MergeSorter sorter = new MergeSorter(chunk.length);
+            OutputBuffer writer = new OutputBuffer(out, 0);
+            for (int r = 0; r < runCount; r++) {
+                long first = (long) r * chunkElements;
+                int length = (int) Math.min(chunkElements, elements - first);
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, first * Double.BYTES, (long) length * Double.BYTES);
+                mapped.asDoubleBuffer().get(chunk, 0, length);
+
+                sorter.sort(chunk, 0, length);
+                writer.write(chunk, 0, length);
+                starts[r + 1] = first + length;
+            }
+            writer.flush();
+            stats.add(new Pass("run formation", size, size, System.nanoTime() - start));
+            return starts;
+        }
+    }
+
+    /**
+     * Merges consecutive groups of up to fanIn runs of source into target.
+     * @return The run boundaries of target.
+     */
+    private static long[] mergePass(Path source, Path target, long[] starts, int fanIn, String name,
+                                    List<Pass> stats) throws IOException {
+        long start = System.nanoTime();
+        int runCount = starts.length - 1;
+        int groups = (runCount + fanIn - 1) / fanIn;
+        long[] targetStarts = new long[groups + 1];
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputBuffer writer = new OutputBuffer(out, 0);
+            for (int g = 0; g < groups; g++) {
+                int firstRun = g * fanIn;
+                int lastRun = Math.min(firstRun + fanIn, runCount);
+                mergeRuns(in, starts, firstRun, lastRun, writer);
+                targetStarts[g + 1] = starts[lastRun];
+            }
+            writer.flush();
+        }
+        long bytes = starts[runCount] * Double.BYTES;
+        stats.add(new Pass(name, bytes, bytes, System.nanoTime() - start));
+        return targetStarts;
+    }
+
+    /**
+     * K-way merge of runs [firstRun, lastRun) through a binary min-heap of run indices.
+     */
+    private static void mergeRuns(FileChannel in, long[] starts, int firstRun, int lastRun,
+                                  OutputBuffer writer) throws IOException {
+        int k = lastRun - firstRun;
+        int bufferBytes = Math.max(MIN_RUN_BUFFER_BYTES, MERGE_BUFFER_BYTES / k) & ~(Double.BYTES - 1);
+        RunReader[] readers = new RunReader[k];
+        double[] heads = new double[k];
+        int[] heap = new int[k];
+        int size = 0;
+        for (int r = 0; r < k; r++) {
+            readers[r] = new RunReader(in, starts[firstRun + r], starts[firstRun + r + 1], bufferBytes);
+            if (readers[r].hasNext()) {
+                heads[r] = readers[r].next();
+                heap[size++] = r;
+            }
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heads, i, size);
+        }
+
+        while (size > 0) {
+            int r = heap[0];
+            writer.write(heads[r]);
+            if (readers[r].hasNext()) {
+                heads[r] = readers[r].next();
+            } else {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, heads, 0, size);
+        }
+    }
+
+    /**
+     * Restores the min-heap property below position i, ordering runs by their head value.
+     */
+    private static void siftDown(int[] heap, double[] heads, int i, int size) {
+        int run = heap[i];
+        double value = heads[run];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) {
+                child++;
+            }
+            if (heads[heap[child]] >= value) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    /**
+     * Sequential reader of one run through a direct buffer refilled with positional reads.
+     */
+    private static final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private DoubleBuffer values;
+        private long position;
+        private final long end;
+
+        RunReader(FileChannel channel, long firstElement, long endElement, int bufferBytes) {
+            this.channel = channel;
+            this.position = firstElement * Double.BYTES;
+            this.end = endElement * Double.BYTES;
+            this.buffer = ByteBuffer.allocateDirect((int) Math.min(bufferBytes, Math.max(Double.BYTES, end - position)));
+            this.values = buffer.asDoubleBuffer().limit(0);
+        }
+
+        boolean hasNext() throws IOException {
+            if (!values.hasRemaining() && position < end) {
+                refill();
+            }
+            return values.hasRemaining();
+        }
+
+        double next() {
+            return values.get();
+        }
+
+        private void refill() throws IOException {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("unexpected end of run file at byte " + position);
+                }
+                position += read;
+            }
+            buffer.flip();
+            values = buffer.asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Sequential writer of doubles through one large direct buffer.
+     */
+    private static final class OutputBuffer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_BYTES);
+        private final DoubleBuffer values = buffer.asDoubleBuffer();
+        private long position;
+
+        OutputBuffer(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void write(double value) throws IOException {
+            if (!values.hasRemaining()) {
+                flush();
+            }
+            values.put(value);
+        }
+
+        void write(double[] arr, int from, int length) throws IOException {
+            while (length > 0) {
+                if (!values.hasRemaining()) {
+                    flush();
+                }
+                int n = Math.min(length, values.remaining());
+                values.put(arr, from, n);
+                from += n;
+                length -= n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.position(0).limit(values.position() * Double.BYTES);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            values.clear();
+        }
+    }
+
+    /**
+     * Sorts a file: java ExternalMergeSort input output [chunkElements] [maxFanIn]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java ExternalMergeSort input output [chunkElements] [maxFanIn]");
+            System.exit(2);
+        }
+        int chunkElements = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 24;
+        int maxFanIn = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_FAN_IN;
+
+        long startTime = System.nanoTime();
+        sort(Path.of(args[0]), Path.of(args[1]), chunkElements, maxFanIn);
+        long endTime = System.nanoTime();
+
+        System.out.println("--- Passes ---");
+        for (Pass pass : passes) {
+            System.out.println(pass);
+        }
+        System.out.println("Total Time: " + (endTime - startTime) / 1_000_000.0 + " ms");
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Test
+public class ExternalMergeSortTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    /**
+     * Prints one result in the format of the other test drivers and counts it.
+     */
+    private static void report(String name, int n, boolean passed) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, n);
+        System.out.printf("Correctness Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    private static void write(Path file, double[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES);
+        buffer.asDoubleBuffer().put(values);
+        Files.write(file, buffer.array());
+    }
+
+    private static double[] read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        double[] values = new double[buffer.remaining() / Double.BYTES];
+        buffer.asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * @return The names of the files in the directory, sorted.
+     */
+    private static List<String> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Number of passes a sort of n elements takes: run formation, the intermediate merge
+     * passes while more than maxFanIn runs remain, and the final merge.
+     */
+    private static int expectedPasses(int n, int chunkElements, int maxFanIn) {
+        int runs = Math.max(1, (n + chunkElements - 1) / chunkElements);
+        int passes = 2;
+        while (runs > maxFanIn) {
+            runs = (runs + maxFanIn - 1) / maxFanIn;
+            passes++;
+        }
+        return passes;
+    }
+
+    /**
+     * Sorts the values through a file in a fresh directory and checks the output against
+     * Arrays.sort, the number of passes, and that only the input and output files are left
+     * behind (the run files are temporary).
+     */
+    private static void runSortTest(String name, double[] values, int chunkElements, int maxFanIn) throws IOException {
+        Path directory = Files.createTempDirectory("external-sort-test");
+        try {
+            Path input = directory.resolve("input.bin");
+            Path output = directory.resolve("output.bin");
+            write(input, values);
+
+            ExternalMergeSort.sort(input, output, chunkElements, maxFanIn);
+            double[] expected = values.clone();
+            Arrays.sort(expected);
+            List<ExternalMergeSort.Pass> passes = ExternalMergeSort.getPasses();
+
+            boolean sorted = Arrays.equals(read(output), expected);
+            boolean inputKept = Arrays.equals(read(input), values);
+            boolean passCount = passes.size() == expectedPasses(values.length, chunkElements, maxFanIn);
+            boolean cleanedUp = listFiles(directory).equals(List.of("input.bin", "output.bin"));
+            System.out.printf("  chunk %d, fan-in %d: %d passes, files left %s\n",
+                    chunkElements, maxFanIn, passes.size(), listFiles(directory));
+            report("ExternalMergeSort: " + name, values.length, sorted && inputKept && passCount && cleanedUp);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Checks that a malformed input is rejected and that the run files are deleted anyway.
+     */
+    private static void runRejectTest(String name, byte[] contents) throws IOException {
+        Path directory = Files.createTempDirectory("external-sort-test");
+        try {
+            Path input = directory.resolve("input.bin");
+            Files.write(input, contents);
+            boolean rejected;
+            try {
+                ExternalMergeSort.sort(input, directory.resolve("output.bin"), 16, 4);
+                rejected = false;
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            boolean cleanedUp = listFiles(directory).equals(List.of("input.bin"));
+            report("ExternalMergeSort rejects " + name + ", no files left", contents.length, rejected && cleanedUp);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static double[] generateRandomArray(int size) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = RANDOM.nextDouble() * 2000 - 1000;
+        }
+        return arr;
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("--- ExternalMergeSort Tests ---");
+
+        // 1. A single run: the final merge only copies it
+        runSortTest("Single Run", generateRandomArray(1000), 1 << 20, 64);
+        runSortTest("Empty File", new double[0], 1000, 64);
+        runSortTest("One Element", new double[] {3.5}, 1000, 64);
+
+        // 2. Several runs merged at once, the last one shorter than the others
+        runSortTest("Many Runs, One Merge", generateRandomArray(100_000), 3000, 64);
+
+        // 3. More runs than the fan-in: intermediate merge passes through the second temp file
+        runSortTest("Multi-pass Merge", generateRandomArray(100_000), 1000, 4);
+        runSortTest("Multi-pass Merge, Fan-in 2", generateRandomArray(20_000), 100, 2);
+        double[] fewUnique = new double[50_000];
+        for (int i = 0; i < fewUnique.length; i++) {
+            fewUnique[i] = RANDOM.nextInt(5);
+        }
+        runSortTest("Multi-pass Merge, Few Unique", fewUnique, 500, 3);
+        double[] reverse = new double[50_000];
+        for (int i = 0; i < reverse.length; i++) {
+            reverse[i] = reverse.length - i;
+        }
+        runSortTest("Multi-pass Merge, Reverse Sorted", reverse, 777, 5);
+
+        // 4. Malformed input
+        runRejectTest("a length that is not a multiple of 8", new byte[8 * 10 + 3]);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: ExternalMergeSort matches Arrays.sort and leaves no temporary files.");
+        }
+    }
+}
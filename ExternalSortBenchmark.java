@@ -0,0 +1,119 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Benchmark for ExternalMergeSort: sorts a file of random doubles and reports every pass
+ * against the raw sequential bandwidth of the same disk (a buffered copy of the input file).
+ * Usage: java ExternalSortBenchmark [n] [chunkElements] [maxFanIn] [directory]
+ */
+public class ExternalSortBenchmark {
+
+    private static final int COPY_BUFFER_BYTES = 8 << 20;
+
+    public static void main(String[] args) throws IOException {
+        long n = args.length > 0 ? Long.parseLong(args[0]) : 50_000_000L;
+        int chunkElements = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 22;
+        int maxFanIn = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        Path directory = Path.of(args.length > 3 ? args[3] : System.getProperty("java.io.tmpdir"));
+
+        Path input = Files.createTempFile(directory, "input", ".bin");
+        Path copy = Files.createTempFile(directory, "copy", ".bin");
+        Path output = Files.createTempFile(directory, "sorted", ".bin");
+        try {
+            writeRandom(input, n, 42);
+
+            long startTime = System.nanoTime();
+            long bytes = copy(input, copy);
+            long copyNanos = System.nanoTime() - startTime;
+            double diskMBps = 2 * bytes / 1e6 / (copyNanos / 1e9);
+
+            startTime = System.nanoTime();
+            ExternalMergeSort.sort(input, output, chunkElements, maxFanIn);
+            long sortNanos = System.nanoTime() - startTime;
+
+            System.out.println("--- External MergeSort (N=" + n + ", " + bytes / 1_000_000 + " MB, chunk=" + chunkElements
+                    + ", fan-in=" + maxFanIn + ") ---");
+            System.out.printf("raw copy (read + write): %.1f MB/s%n", diskMBps);
+            for (ExternalMergeSort.Pass pass : ExternalMergeSort.getPasses()) {
+                System.out.printf("%s  %5.0f%% of raw%n", pass, 100 * pass.throughputMBps() / diskMBps);
+            }
+            System.out.printf("total: %.2f ms, sorted: %b%n", sortNanos / 1e6, isSorted(output));
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(copy);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Writes n random doubles to the file.
+     */
+    private static void writeRandom(Path file, long n, long seed) throws IOException {
+        Random random = new Random(seed);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES);
+        DoubleBuffer values = buffer.asDoubleBuffer();
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long written = 0; written < n; ) {
+                values.clear();
+                while (values.hasRemaining() && written < n) {
+                    values.put(random.nextDouble() * n);
+                    written++;
+                }
+                buffer.position(0).limit(values.position() * Double.BYTES);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies source to target through one buffer and returns the number of bytes copied.
+     */
+    private static long copy(Path source, Path target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES);
+        long bytes = 0;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    bytes += out.write(buffer);
+                }
+                buffer.clear();
+            }
+            out.force(false);
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks that the doubles of the file are in non-decreasing order.
+     */
+    private static boolean isSorted(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES);
+        double previous = Double.NEGATIVE_INFINITY;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                DoubleBuffer values = buffer.asDoubleBuffer();
+                while (values.hasRemaining()) {
+                    double value = values.get();
+                    if (value < previous) {
+                        return false;
+                    }
+                    previous = value;
+                }
+                buffer.position(values.position() * Double.BYTES);
+                buffer.compact();
+            }
+        }
+        return true;
+    }
+}
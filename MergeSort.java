@@ -1,21 +1,72 @@
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Implements the MergeSort algorithm with optimizations for performance analysis.
  * Features:
  * - Small-n cutoff using Insertion Sort.
- * - Reusable buffer to avoid repeated memory allocation.
+ * - Reusable buffer to avoid repeated memory allocation (caller-supplied via sort(arr, scratch)).
  * - Metric counters for comparisons and recursion depth.
  * - Time measurement using System.nanoTime().
+ * - Optional fork-join parallel mode sharing the same single buffer.
+ * - Optional iterative bottom-up mode with ping-pong buffers.
+ * - Optional adaptive (natural run detecting, galloping) mode for nearly-sorted input.
+ * - Range sorts of arr[from..to) and a parallel batch sort of many segments of one array.
+ * - Indirect (argsort) mode and a key sort that carries a long[] payload.
+ * - Sorter instances with a tunable cutoff (sorter(cutoff)) for AdaptiveSorter.
  */
 public class MergeSort {
 
     // A small-n cutoff value. Insertion sort is faster for very small arrays.
     private static final int CUTOFF = 7;
 
+    // Sub-arrays smaller than this are sorted/merged sequentially in the parallel mode.
+    private static final int PARALLEL_GRANULARITY = 1 << 13;
+
+    // Runs shorter than this are extended with binary insertion sort in the adaptive mode.
+    private static final int MIN_MERGE = 32;
+
+    // Consecutive wins from one run before a merge of the adaptive mode starts galloping.
+    private static final int MIN_GALLOP = 7;
+
     // Static variables to track performance metrics across recursive calls.
     private static long comparisons = 0;
     private static int maxRecursionDepth = 0;
+    private static int runCount = 0;
+    private static long gallopHits = 0;
+
+    /**
+     * Per-task metric counters. Each recursive call (or fork-join task) updates its own
+     * instance, and the totals are folded into the static counters once the sort completes,
+     * so the metrics stay correct when several threads work on the same sort.
+     */
+    private static final class Metrics {
+        long comparisons;
+        int maxDepth;
+        int runs;
+        long gallops;
+
+        void reset() {
+            comparisons = 0;
+            maxDepth = 0;
+            runs = 0;
+            gallops = 0;
+        }
+
+        void add(Metrics other) {
+            comparisons += other.comparisons;
+            runs += other.runs;
+            gallops += other.gallops;
+            if (other.maxDepth > maxDepth) {
+                maxDepth = other.maxDepth;
+            }
+        }
+    }
+
+    // Counters reused by the sequential sort(arr, scratch) so that it allocates nothing.
+    private static final ThreadLocal<Metrics> SEQUENTIAL_METRICS = ThreadLocal.withInitial(Metrics::new);
 
     /**
      * Public-facing method to start the MergeSort process.
@@ -23,30 +74,406 @@ public class MergeSort {
      * @param arr The array to be sorted.
      */
     public static void sort(double[] arr) {
+        sort(arr, new double[arr.length]);
+    }
+
+    /**
+     * MergeSort with a caller-supplied temporary buffer, so that repeated sorts do not allocate.
+     * The buffer may be longer than arr and its contents are overwritten. See MergeSorter for
+     * an owner of a growable buffer.
+     * @param arr The array to be sorted.
+     * @param scratch The temporary buffer; must be at least arr.length long.
+     */
+    public static void sort(double[] arr, double[] scratch) {
+        sort(arr, 0, arr.length, scratch);
+    }
+
+    /**
+     * Sorts the range arr[from..to) in place; elements outside the range are not touched.
+     * The temporary buffer only has to hold the range.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     */
+    public static void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        sort(arr, from, to, new double[to - from]);
+    }
+
+    /**
+     * Sorts the range arr[from..to) with a caller-supplied temporary buffer.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @param scratch The temporary buffer; must be at least to - from long.
+     */
+    public static void sort(double[] arr, int from, int to, double[] scratch) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (scratch.length < to - from) {
+            throw new IllegalArgumentException("scratch buffer too small: " + scratch.length + " < " + (to - from));
+        }
+        Metrics metrics = SEQUENTIAL_METRICS.get();
+        metrics.reset();
+        mergeSort(arr, scratch, from, from, to - 1, CUTOFF, 0, metrics);
+        publish(metrics);
+    }
+
+    /**
+     * Indirect (argsort) mode: returns the permutation that sorts keys, so that
+     * keys[result[0]] <= keys[result[1]] <= ... The sort is stable, so equal keys keep their
+     * original order, and keys itself is not modified. A copy of the keys is merge-sorted
+     * together with the index array, which keeps the comparisons on contiguous memory.
+     * The permutation can then be applied to any number of sibling columns.
+     * @param keys The key column.
+     * @return The sorting permutation.
+     */
+    public static int[] argsort(double[] keys) {
+        int[] idx = identity(keys.length);
+        sortIndexed(keys.clone(), idx);
+        return idx;
+    }
+
+    /**
+     * Sorts keys in place and applies the same (stable) permutation to a payload column, so that
+     * payload[i] still belongs to keys[i] afterwards. Both columns stay primitive (no boxed
+     * pairs), but the sort allocates O(n) temporary memory: an index column, the key and index
+     * merge buffers, and a copy of the payload to permute from.
+     * @param keys The key column, sorted in place.
+     * @param payload The payload column; must have the same length as keys.
+     */
+    public static void sort(double[] keys, long[] payload) {
+        if (payload.length != keys.length) {
+            throw new IllegalArgumentException("payload length " + payload.length + " != key length " + keys.length);
+        }
+        int[] idx = identity(keys.length);
+        sortIndexed(keys, idx);
+
+        long[] original = payload.clone();
+        for (int i = 0; i < idx.length; i++) {
+            payload[i] = original[idx[i]];
+        }
+    }
+
+    /**
+     * Sorts many disjoint segments of one array in parallel on a dedicated fork-join pool.
+     * Segments are given as flat (from, to) pairs with exclusive ends, {from0, to0, from1, to1, ...},
+     * and are sorted in place, so no segment is copied out and back. Each segment is sorted
+     * sequentially; the parallelism comes from sorting different segments at the same time, and
+     * neighbouring small segments are grouped into one task of about PARALLEL_GRANULARITY elements.
+     * @param arr The array holding the segments.
+     * @param segments The flat (from, to) pairs; segments must not overlap.
+     * @param parallelism The number of worker threads.
+     */
+    public static void parallelSortSegments(double[] arr, int[] segments, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (segments.length % 2 != 0) {
+            throw new IllegalArgumentException("segments must hold (from, to) pairs: length " + segments.length);
+        }
+        checkDisjoint(arr.length, segments);
+
+        SegmentsTask root = new SegmentsTask(arr, segments, 0, segments.length / 2);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(root);
+        } finally {
+            pool.shutdown();
+        }
+        publish(root.metrics);
+    }
+
+    /**
+     * Returns a Sorter running the top-down sort with the default insertion-sort cutoff.
+     * @return The sorter.
+     */
+    public static Sorter sorter() {
+        return sorter(CUTOFF);
+    }
+
+    /**
+     * Returns a Sorter running the top-down sort with a tuned insertion-sort cutoff: sub-arrays
+     * of at most cutoff + 1 elements are insertion-sorted. The sorter allocates its buffer per
+     * call and keeps no state, so it can be shared between threads.
+     * @param cutoff The insertion-sort cutoff; 0 recurses down to single elements.
+     * @return The sorter.
+     */
+    public static Sorter sorter(int cutoff) {
+        if (cutoff < 0) {
+            throw new IllegalArgumentException("cutoff must not be negative: " + cutoff);
+        }
+        return new Sorter() {
+            @Override
+            public void sort(double[] arr, int from, int to) {
+                Objects.checkFromToIndex(from, to, arr.length);
+                Metrics metrics = SEQUENTIAL_METRICS.get();
+                metrics.reset();
+                mergeSort(arr, new double[to - from], from, from, to - 1, cutoff, 0, metrics);
+                publish(metrics);
+            }
+
+            @Override
+            public String name() {
+                return "MergeSort(cutoff=" + cutoff + ")";
+            }
+        };
+    }
+
+    /**
+     * Returns a Sorter running the adaptive sort (sortAdaptive).
+     * @return The sorter.
+     */
+    public static Sorter adaptiveSorter() {
+        return new Sorter() {
+            @Override
+            public void sort(double[] arr, int from, int to) {
+                sortAdaptive(arr, from, to);
+            }
+
+            @Override
+            public String name() {
+                return "MergeSort.adaptive";
+            }
+        };
+    }
+
+    /**
+     * Iterative bottom-up MergeSort. The array is first cut into insertion-sorted runs of
+     * CUTOFF + 1 elements (the same leaf size as the top-down path). Each pass then merges
+     * pairs of runs from a source into a destination, and the roles of arr and the single
+     * buffer swap after every pass, so no per-merge copy into temp is needed. The result
+     * is copied back at most once at the end. There is no recursion, so maxRecursionDepth is 0.
+     * @param arr The array to be sorted.
+     */
+    public static void sortBottomUp(double[] arr) {
+        int n = arr.length;
+        Metrics metrics = new Metrics();
+        int width = CUTOFF + 1;
+
+        for (int low = 0; low < n; low += width) {
+            insertionSort(arr, low, Math.min(low + width, n) - 1, metrics);
+        }
+
+        double[] src = arr;
+        double[] dst = new double[n];
+        for (; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n) - 1;
+                if (mid > high || src[mid - 1] <= src[mid]) {
+                    // A lone trailing run, or two runs already in order: move them across unchanged.
+                    System.arraycopy(src, low, dst, low, high - low + 1);
+                } else {
+                    mergeRuns(src, low, mid - 1, mid, high, dst, low, metrics);
+                }
+            }
+            double[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+        publish(metrics);
+    }
+
+    /**
+     * Adaptive (TimSort-style) MergeSort for nearly-sorted input. The array is scanned for
+     * natural runs: ascending runs are kept, strictly descending runs are reversed in place
+     * (strictness keeps the sort stable), and runs shorter than a minimum length are extended
+     * with binary insertion sort. Runs are pushed on a stack and merged while keeping the
+     * TimSort length invariants, and each merge switches to galloping (exponential search plus
+     * bulk copy) once one run keeps winning. Sorted input costs n - 1 comparisons and an input
+     * made of k runs costs O(n log k). The run count and gallop hits are reported as metrics.
+     * @param arr The array to be sorted.
+     */
+    public static void sortAdaptive(double[] arr) {
+        sortAdaptive(arr, 0, arr.length);
+    }
+
+    /**
+     * Adaptive MergeSort of the range arr[from..to); elements outside the range are not touched.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     */
+    public static void sortAdaptive(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        int n = to - from;
+        Metrics metrics = new Metrics();
+        if (n < 2) {
+            metrics.runs = n;
+            publish(metrics);
+            return;
+        }
+
+        RunStack stack = new RunStack(arr, metrics);
+        int minRun = minRunLength(n);
+        for (int low = from; low < to; ) {
+            int runEnd = countRunAndMakeAscending(arr, low, to, metrics);
+            metrics.runs++;
+            int length = runEnd - low;
+            if (length < minRun) {
+                int forced = Math.min(minRun, to - low);
+                binaryInsertionSort(arr, low, low + forced, runEnd, metrics);
+                length = forced;
+            }
+            stack.push(low, length);
+            stack.mergeCollapse();
+            low += length;
+        }
+        stack.mergeForceCollapse();
+        publish(metrics);
+    }
+
+    /**
+     * Parallel MergeSort on a dedicated fork-join pool, using the default granularity.
+     * @param arr The array to be sorted.
+     * @param parallelism The number of worker threads.
+     */
+    public static void parallelSort(double[] arr, int parallelism) {
+        parallelSort(arr, parallelism, PARALLEL_GRANULARITY);
+    }
+
+    /**
+     * Parallel MergeSort. The two halves are forked as separate tasks above the granularity
+     * threshold and merged with a parallel merge that splits on a binary-searched co-rank.
+     * A single temporary buffer of size n is shared by all tasks; every task only touches
+     * its own [low, high] slice of it.
+     * @param arr The array to be sorted.
+     * @param parallelism The number of worker threads.
+     * @param granularity Sub-arrays (and merges) below this size run sequentially.
+     */
+    public static void parallelSort(double[] arr, int parallelism, int granularity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (parallelism == 1 || arr.length <= granularity) {
+            sort(arr);
+            return;
+        }
+
         double[] temp = new double[arr.length];
-        // Reset counters for a new sort operation
-        comparisons = 0;
-        maxRecursionDepth = 0;
-        mergeSort(arr, temp, 0, arr.length - 1, 0);
+        SortTask root = new SortTask(arr, temp, 0, arr.length - 1, 0, Math.max(granularity, CUTOFF + 1), false);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(root);
+        } finally {
+            pool.shutdown();
+        }
+        publish(root.metrics);
+    }
+
+    /**
+     * @return The number of comparisons made by the last sort.
+     */
+    public static long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * @return The maximum recursion depth reached by the last sort.
+     */
+    public static int getMaxRecursionDepth() {
+        return maxRecursionDepth;
+    }
+
+    /**
+     * @return The number of natural runs found by the last adaptive sort (0 for other modes).
+     */
+    public static int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @return The number of galloping bulk copies made by the last adaptive sort (0 for other modes).
+     */
+    public static long getGallopHits() {
+        return gallopHits;
+    }
+
+    /**
+     * Checks that every (from, to) pair is a valid range of an array of the given length and
+     * that no two ranges overlap, since overlapping segments would be sorted concurrently.
+     * Empty ranges hold no elements, so they may sit anywhere, even inside another range.
+     */
+    private static void checkDisjoint(int length, int[] segments) {
+        int count = segments.length / 2;
+        long[] starts = new long[count];
+        for (int s = 0; s < count; s++) {
+            Objects.checkFromToIndex(segments[2 * s], segments[2 * s + 1], length);
+            starts[s] = ((long) segments[2 * s] << 32) | s;
+        }
+        Arrays.sort(starts);
+        int previousEnd = 0;
+        for (long start : starts) {
+            int s = (int) start;
+            if (segments[2 * s] == segments[2 * s + 1]) {
+                continue;
+            }
+            if (segments[2 * s] < previousEnd) {
+                throw new IllegalArgumentException("segments overlap at index " + segments[2 * s]);
+            }
+            previousEnd = Math.max(previousEnd, segments[2 * s + 1]);
+        }
+    }
+
+    /**
+     * @return The array {0, 1, ..., n - 1}.
+     */
+    private static int[] identity(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+        return idx;
+    }
+
+    /**
+     * Stable MergeSort of keys that moves idx along with them.
+     * @param keys The keys to be sorted.
+     * @param idx The index column, permuted like keys.
+     */
+    private static void sortIndexed(double[] keys, int[] idx) {
+        Metrics metrics = SEQUENTIAL_METRICS.get();
+        metrics.reset();
+        mergeSortIndexed(keys, idx, new double[keys.length], new int[keys.length], 0, keys.length - 1, 0, metrics);
+        publish(metrics);
+    }
+
+    /**
+     * Copies the collected metrics into the static counters reported by main.
+     * @param metrics The metrics of the sort that just finished.
+     */
+    private static void publish(Metrics metrics) {
+        comparisons = metrics.comparisons;
+        maxRecursionDepth = metrics.maxDepth;
+        runCount = metrics.runs;
+        gallopHits = metrics.gallops;
     }
 
     /**
      * The recursive helper method for the divide-and-conquer strategy.
      * @param arr The array to be sorted.
      * @param temp A temporary buffer for merging.
+     * @param offset The index of arr that temp[0] mirrors (0 when temp is as long as arr).
      * @param low The starting index of the sub-array.
      * @param high The ending index of the sub-array.
+     * @param cutoff Sub-arrays of at most cutoff + 1 elements are insertion-sorted.
      * @param currentDepth The current recursion depth.
+     * @param metrics The counters of the current sort.
      */
-    private static void mergeSort(double[] arr, double[] temp, int low, int high, int currentDepth) {
+    private static void mergeSort(double[] arr, double[] temp, int offset, int low, int high, int cutoff,
+                                  int currentDepth, Metrics metrics) {
         // Track the maximum recursion depth reached.
-        if (currentDepth > maxRecursionDepth) {
-            maxRecursionDepth = currentDepth;
+        if (currentDepth > metrics.maxDepth) {
+            metrics.maxDepth = currentDepth;
         }
 
         // Base case: use insertion sort for small sub-arrays to reduce overhead.
-        if (high <= low + CUTOFF) {
-            insertionSort(arr, low, high);
+        if (high <= low + cutoff) {
+            insertionSort(arr, low, high, metrics);
             return;
         }
 
@@ -54,8 +481,8 @@ public class MergeSort {
         int mid = low + (high - low) / 2;
 
         // Recursively sort the left and right halves.
-        mergeSort(arr, temp, low, mid, currentDepth + 1);
-        mergeSort(arr, temp, mid + 1, high, currentDepth + 1);
+        mergeSort(arr, temp, offset, low, mid, cutoff, currentDepth + 1, metrics);
+        mergeSort(arr, temp, offset, mid + 1, high, cutoff, currentDepth + 1, metrics);
 
         // If the two halves are already sorted relative to each other, skip the merge.
         // This is a common optimization for partially sorted data.
@@ -64,44 +491,581 @@ public class MergeSort {
         }
 
         // Merge the two sorted halves back into the original array.
-        merge(arr, temp, low, mid, high);
+        merge(arr, temp, offset, low, mid, high, metrics);
+    }
+
+    /**
+     * The indexed counterpart of mergeSort: the same recursion, cutoff and merge skip,
+     * with every move of a key mirrored in idx.
+     * @param keys The keys to be sorted.
+     * @param idx The index column, permuted like keys.
+     * @param keyTemp A temporary buffer for the keys.
+     * @param idxTemp A temporary buffer for the indices.
+     * @param low The starting index of the sub-array.
+     * @param high The ending index of the sub-array.
+     * @param currentDepth The current recursion depth.
+     * @param metrics The counters of the current sort.
+     */
+    private static void mergeSortIndexed(double[] keys, int[] idx, double[] keyTemp, int[] idxTemp,
+                                         int low, int high, int currentDepth, Metrics metrics) {
+        if (currentDepth > metrics.maxDepth) {
+            metrics.maxDepth = currentDepth;
+        }
+
+        if (high <= low + CUTOFF) {
+            for (int i = low + 1; i <= high; i++) {
+                double key = keys[i];
+                int index = idx[i];
+                int j = i - 1;
+                while (j >= low && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    idx[j + 1] = idx[j];
+                    j--;
+                    metrics.comparisons++;
+                }
+                keys[j + 1] = key;
+                idx[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = low + (high - low) / 2;
+        mergeSortIndexed(keys, idx, keyTemp, idxTemp, low, mid, currentDepth + 1, metrics);
+        mergeSortIndexed(keys, idx, keyTemp, idxTemp, mid + 1, high, currentDepth + 1, metrics);
+        if (keys[mid] <= keys[mid + 1]) {
+            return;
+        }
+
+        System.arraycopy(keys, low, keyTemp, low, high - low + 1);
+        System.arraycopy(idx, low, idxTemp, low, high - low + 1);
+        int i = low;
+        int j = mid + 1;
+        for (int k = low; k <= high; k++) {
+            if (i > mid) {
+                keys[k] = keyTemp[j];
+                idx[k] = idxTemp[j++];
+            } else if (j > high) {
+                keys[k] = keyTemp[i];
+                idx[k] = idxTemp[i++];
+            } else {
+                metrics.comparisons++;
+                if (keyTemp[j] < keyTemp[i]) {
+                    keys[k] = keyTemp[j];
+                    idx[k] = idxTemp[j++];
+                } else {
+                    keys[k] = keyTemp[i];
+                    idx[k] = idxTemp[i++];
+                }
+            }
+        }
     }
 
     /**
      * Merges two sorted sub-arrays into a single sorted array.
      * @param arr The original array.
      * @param temp A temporary buffer.
+     * @param offset The index of arr that temp[0] mirrors.
      * @param low The starting index of the sub-array.
      * @param mid The midpoint of the sub-array.
      * @param high The ending index of the sub-array.
+     * @param metrics The counters of the current sort.
      */
-    private static void merge(double[] arr, double[] temp, int low, int mid, int high) {
+    private static void merge(double[] arr, double[] temp, int offset, int low, int mid, int high, Metrics metrics) {
         // Copy the sub-array to the temporary buffer.
         for (int k = low; k <= high; k++) {
-            temp[k] = arr[k];
+            temp[k - offset] = arr[k];
+        }
+        mergeRuns(temp, low - offset, mid - offset, mid + 1 - offset, high - offset, arr, low, metrics);
+    }
+
+    /**
+     * Merges the sorted runs src[lo1..hi1] and src[lo2..hi2] into dst starting at index k.
+     * Ties are taken from the first run, which keeps the sort stable.
+     * @param src The buffer holding both runs.
+     * @param lo1 The starting index of the first run.
+     * @param hi1 The ending index of the first run.
+     * @param lo2 The starting index of the second run.
+     * @param hi2 The ending index of the second run.
+     * @param dst The destination array.
+     * @param k The first destination index.
+     * @param metrics The counters of the current sort.
+     */
+    private static void mergeRuns(double[] src, int lo1, int hi1, int lo2, int hi2, double[] dst, int k, Metrics metrics) {
+        int i = lo1;      // Pointer for the first run
+        int j = lo2;      // Pointer for the second run
+        int end = k + (hi1 - lo1 + 1) + (hi2 - lo2 + 1);
+        long count = 0;
+
+        for (; k < end; k++) {
+            if (i > hi1) {
+                // First run is exhausted, copy from the second.
+                dst[k] = src[j++];
+            } else if (j > hi2) {
+                // Second run is exhausted, copy from the first.
+                dst[k] = src[i++];
+                count++;
+            } else if (src[j] < src[i]) {
+                // Element from the second run is smaller.
+                dst[k] = src[j++];
+                count++;
+            } else {
+                // Element from the first run is smaller or equal.
+                dst[k] = src[i++];
+                count++;
+            }
         }
+        metrics.comparisons += count;
+    }
 
-        int i = low;      // Pointer for the left sub-array
-        int j = mid + 1;  // Pointer for the right sub-array
+    /**
+     * Fork-join task that sorts arr[low..high]. When copyToTemp is set, the sorted slice is
+     * also copied into temp[low..high] so the parent can merge straight out of the buffer;
+     * sibling tasks do this copy concurrently instead of the parent doing it serially.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
 
-        for (int k = low; k <= high; k++) {
-            if (i > mid) {
-                // Left half is exhausted, copy from the right.
-                arr[k] = temp[j++];
-            } else if (j > high) {
-                // Right half is exhausted, copy from the left.
-                arr[k] = temp[i++];
-                comparisons++;
-            } else if (temp[j] < temp[i]) {
-                // Element from right half is smaller.
-                arr[k] = temp[j++];
-                comparisons++;
+        private final double[] arr;
+        private final double[] temp;
+        private final int low;
+        private final int high;
+        private final int depth;
+        private final int granularity;
+        private final boolean copyToTemp;
+        final Metrics metrics = new Metrics();
+
+        SortTask(double[] arr, double[] temp, int low, int high, int depth, int granularity, boolean copyToTemp) {
+            this.arr = arr;
+            this.temp = temp;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.granularity = granularity;
+            this.copyToTemp = copyToTemp;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low + 1 <= granularity) {
+                mergeSort(arr, temp, 0, low, high, CUTOFF, depth, metrics);
+            } else {
+                int mid = low + (high - low) / 2;
+                SortTask left = new SortTask(arr, temp, low, mid, depth + 1, granularity, true);
+                SortTask right = new SortTask(arr, temp, mid + 1, high, depth + 1, granularity, true);
+                invokeAll(left, right);
+                metrics.add(left.metrics);
+                metrics.add(right.metrics);
+                if (depth > metrics.maxDepth) {
+                    metrics.maxDepth = depth;
+                }
+
+                // Same skip as the sequential path; temp already holds both halves.
+                if (arr[mid] > arr[mid + 1]) {
+                    MergeTask merge = new MergeTask(temp, low, mid, mid + 1, high, arr, low, granularity);
+                    merge.invoke();
+                    metrics.add(merge.metrics);
+                }
+            }
+            if (copyToTemp) {
+                System.arraycopy(arr, low, temp, low, high - low + 1);
+            }
+        }
+    }
+
+    /**
+     * Fork-join task that merges src[lo1..hi1] and src[lo2..hi2] into dst at index k.
+     * The larger run is split at its midpoint and the other run at the matching co-rank
+     * (found by binary search), so both sub-merges can run in parallel.
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] src;
+        private final int lo1, hi1, lo2, hi2;
+        private final double[] dst;
+        private final int k;
+        private final int granularity;
+        final Metrics metrics = new Metrics();
+
+        MergeTask(double[] src, int lo1, int hi1, int lo2, int hi2, double[] dst, int k, int granularity) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.k = k;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1 + 1;
+            int n2 = hi2 - lo2 + 1;
+            if (n1 + n2 <= granularity || n1 == 0 || n2 == 0) {
+                mergeRuns(src, lo1, hi1, lo2, hi2, dst, k, metrics);
+                return;
+            }
+
+            int split1, split2;
+            if (n1 >= n2) {
+                // Split the first run; elements of the second run strictly less go left (stability).
+                split1 = lo1 + n1 / 2;
+                split2 = lowerBound(src, lo2, hi2 + 1, src[split1], metrics);
+            } else {
+                // Split the second run; elements of the first run less than or equal go left.
+                split2 = lo2 + n2 / 2;
+                split1 = upperBound(src, lo1, hi1 + 1, src[split2], metrics);
+            }
+
+            int leftSize = (split1 - lo1) + (split2 - lo2);
+            MergeTask left = new MergeTask(src, lo1, split1 - 1, lo2, split2 - 1, dst, k, granularity);
+            MergeTask right = new MergeTask(src, split1, hi1, split2, hi2, dst, k + leftSize, granularity);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+        }
+    }
+
+    /**
+     * Fork-join task that sorts the segments [first, last) of a flat (from, to) pair list.
+     * Groups of segments whose total size is at most PARALLEL_GRANULARITY, and single
+     * segments, are sorted sequentially with one buffer sized for the largest of them;
+     * larger groups are split in half by segment count.
+     */
+    private static final class SegmentsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] arr;
+        private final int[] segments;
+        private final int first;
+        private final int last;
+        final Metrics metrics = new Metrics();
+
+        SegmentsTask(double[] arr, int[] segments, int first, int last) {
+            this.arr = arr;
+            this.segments = segments;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            long total = 0;
+            int longest = 0;
+            for (int s = first; s < last; s++) {
+                int length = segments[2 * s + 1] - segments[2 * s];
+                total += length;
+                longest = Math.max(longest, length);
+            }
+
+            if (last - first <= 1 || total <= PARALLEL_GRANULARITY) {
+                double[] temp = new double[longest];
+                for (int s = first; s < last; s++) {
+                    int from = segments[2 * s];
+                    int to = segments[2 * s + 1];
+                    mergeSort(arr, temp, from, from, to - 1, CUTOFF, 0, metrics);
+                }
+                return;
+            }
+
+            int mid = (first + last) >>> 1;
+            SegmentsTask left = new SegmentsTask(arr, segments, first, mid);
+            SegmentsTask right = new SegmentsTask(arr, segments, mid, last);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+        }
+    }
+
+    /**
+     * Returns the first index in a[from..to) whose value is not less than key.
+     */
+    private static int lowerBound(double[] a, int from, int to, double key, Metrics metrics) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            metrics.comparisons++;
+            if (a[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the first index in a[from..to) whose value is greater than key.
+     */
+    private static int upperBound(double[] a, int from, int to, double key, Metrics metrics) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            metrics.comparisons++;
+            if (a[mid] <= key) {
+                from = mid + 1;
             } else {
-                // Element from left half is smaller or equal.
-                arr[k] = temp[i++];
-                comparisons++;
+                to = mid;
             }
         }
+        return from;
+    }
+
+    /**
+     * Returns the minimum run length for the adaptive mode: n itself when n is small, otherwise
+     * a value in [MIN_MERGE / 2, MIN_MERGE] chosen so that n / minRun is close to a power of two,
+     * which keeps the final merges balanced.
+     * @param n The length of the array.
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Finds the natural run starting at low and makes it ascending, reversing it in place if it
+     * is strictly descending.
+     * @param arr The array being sorted.
+     * @param low The starting index of the run.
+     * @param end The exclusive end of the array range.
+     * @param metrics The counters of the current sort.
+     * @return The exclusive end of the run.
+     */
+    private static int countRunAndMakeAscending(double[] arr, int low, int end, Metrics metrics) {
+        int runEnd = low + 1;
+        if (runEnd == end) {
+            return end;
+        }
+
+        metrics.comparisons++;
+        if (arr[runEnd++] < arr[low]) {
+            while (runEnd < end && arr[runEnd] < arr[runEnd - 1]) {
+                runEnd++;
+            }
+            for (int i = low, j = runEnd - 1; i < j; i++, j--) {
+                double swap = arr[i];
+                arr[i] = arr[j];
+                arr[j] = swap;
+            }
+        } else {
+            while (runEnd < end && arr[runEnd] >= arr[runEnd - 1]) {
+                runEnd++;
+            }
+        }
+        metrics.comparisons += runEnd - low - 2 + (runEnd < end ? 1 : 0);
+        return runEnd;
+    }
+
+    /**
+     * Binary insertion sort of arr[low..high), where arr[low..start) is already sorted.
+     * Equal keys are inserted after the existing ones, which keeps it stable.
+     * @param arr The array to be sorted.
+     * @param low The starting index.
+     * @param high The exclusive end index.
+     * @param start The first index that is not yet in sorted position.
+     * @param metrics The counters of the current sort.
+     */
+    private static void binaryInsertionSort(double[] arr, int low, int high, int start, Metrics metrics) {
+        for (int i = start; i < high; i++) {
+            double key = arr[i];
+            int pos = upperBound(arr, low, i, key, metrics);
+            System.arraycopy(arr, pos, arr, pos + 1, i - pos);
+            arr[pos] = key;
+        }
+    }
+
+    /**
+     * Returns the first index in a[from..to) whose value is greater than key, probing
+     * from the front at offsets 1, 3, 7, ... before the final binary search. Costs
+     * O(log d) comparisons where d is the distance of the answer from 'from'.
+     */
+    private static int gallopRight(double key, double[] a, int from, int to, Metrics metrics) {
+        int length = to - from;
+        int last = 0;
+        int ofs = 1;
+        while (ofs <= length) {
+            metrics.comparisons++;
+            if (a[from + ofs - 1] > key) {
+                break;
+            }
+            last = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) {
+                ofs = length + 1;
+            }
+        }
+        return upperBound(a, from + last, Math.min(from + ofs - 1, to), key, metrics);
+    }
+
+    /**
+     * Returns the first index in a[from..to) whose value is not less than key, galloping
+     * from the front like gallopRight.
+     */
+    private static int gallopLeft(double key, double[] a, int from, int to, Metrics metrics) {
+        int length = to - from;
+        int last = 0;
+        int ofs = 1;
+        while (ofs <= length) {
+            metrics.comparisons++;
+            if (a[from + ofs - 1] >= key) {
+                break;
+            }
+            last = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) {
+                ofs = length + 1;
+            }
+        }
+        return lowerBound(a, from + last, Math.min(from + ofs - 1, to), key, metrics);
+    }
+
+    /**
+     * Stack of pending runs for the adaptive mode. Adjacent runs are merged whenever the
+     * lengths stop shrinking fast enough, so the stack stays logarithmic in n and merges
+     * stay balanced.
+     */
+    private static final class RunStack {
+        private final double[] arr;
+        private final Metrics metrics;
+        private final int[] runBase = new int[49];
+        private final int[] runLength = new int[49];
+        private int size;
+        private double[] temp = new double[0];
+
+        RunStack(double[] arr, Metrics metrics) {
+            this.arr = arr;
+            this.metrics = metrics;
+        }
+
+        void push(int base, int length) {
+            runBase[size] = base;
+            runLength[size] = length;
+            size++;
+        }
+
+        /**
+         * Restores the invariants len[i - 2] > len[i - 1] + len[i] and len[i - 1] > len[i]
+         * for the top of the stack.
+         */
+        void mergeCollapse() {
+            while (size > 1) {
+                int n = size - 2;
+                if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                        || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges all remaining runs, finishing the sort.
+         */
+        void mergeForceCollapse() {
+            while (size > 1) {
+                int n = size - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at stack positions i and i + 1.
+         */
+        private void mergeAt(int i) {
+            int low = runBase[i];
+            int mid = runBase[i + 1];
+            int high = mid + runLength[i + 1];
+            runLength[i] += runLength[i + 1];
+            if (i == size - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            size--;
+            mergeGalloping(low, mid, high);
+        }
+
+        /**
+         * Merges the adjacent sorted runs arr[low..mid) and arr[mid..high). The prefix of the
+         * first run that is not greater than arr[mid] and the suffix of the second run that is
+         * not less than arr[mid - 1] are already in place and are skipped; only the rest of the
+         * first run is copied into the buffer. The merge proceeds one element at a time until
+         * one run wins MIN_GALLOP times in a row, then gallops, bulk-copying whole stretches.
+         */
+        private void mergeGalloping(int low, int mid, int high) {
+            low = gallopRight(arr[mid], arr, low, mid, metrics);
+            if (low == mid) {
+                return;
+            }
+            high = gallopLeft(arr[mid - 1], arr, mid, high, metrics);
+
+            int length1 = mid - low;
+            if (temp.length < length1) {
+                temp = new double[Math.max(length1, Math.min(arr.length, 2 * temp.length))];
+            }
+            System.arraycopy(arr, low, temp, 0, length1);
+
+            int i = 0;
+            int j = mid;
+            int k = low;
+            outer:
+            while (true) {
+                int wins1 = 0;
+                int wins2 = 0;
+                do {
+                    if (i == length1 || j == high) {
+                        break outer;
+                    }
+                    metrics.comparisons++;
+                    if (arr[j] < temp[i]) {
+                        arr[k++] = arr[j++];
+                        wins2++;
+                        wins1 = 0;
+                    } else {
+                        arr[k++] = temp[i++];
+                        wins1++;
+                        wins2 = 0;
+                    }
+                } while ((wins1 | wins2) < MIN_GALLOP);
+
+                do {
+                    if (i == length1 || j == high) {
+                        break outer;
+                    }
+                    wins1 = gallopRight(arr[j], temp, i, length1, metrics) - i;
+                    if (wins1 > 0) {
+                        System.arraycopy(temp, i, arr, k, wins1);
+                        i += wins1;
+                        k += wins1;
+                        metrics.gallops++;
+                    }
+                    if (i == length1) {
+                        break outer;
+                    }
+                    wins2 = gallopLeft(temp[i], arr, j, high, metrics) - j;
+                    if (wins2 > 0) {
+                        System.arraycopy(arr, j, arr, k, wins2);
+                        j += wins2;
+                        k += wins2;
+                        metrics.gallops++;
+                    }
+                    if (j == high) {
+                        break outer;
+                    }
+                } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+            }
+            // Whatever is left of the second run is already in place.
+            System.arraycopy(temp, i, arr, k, length1 - i);
+        }
     }
 
     /**
@@ -109,15 +1073,320 @@ public class MergeSort {
      * @param arr The array to be sorted.
      * @param low The starting index.
      * @param high The ending index.
+     * @param metrics The counters of the current sort.
      */
-    private static void insertionSort(double[] arr, int low, int high) {
+    private static void insertionSort(double[] arr, int low, int high, Metrics metrics) {
         for (int i = low + 1; i <= high; i++) {
             double key = arr[i];
             int j = i - 1;
             while (j >= low && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j--;
-                comparisons++;
+                metrics.comparisons++;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * MergeSort for int[] keys: the same algorithm, cutoff, metrics and single buffer as
+     * sort(double[]), without widening the keys to double.
+     * @param arr The array to be sorted.
+     */
+    public static void sort(int[] arr) {
+        Metrics metrics = SEQUENTIAL_METRICS.get();
+        metrics.reset();
+        mergeSort(arr, new int[arr.length], 0, 0, arr.length - 1, 0, metrics);
+        publish(metrics);
+    }
+
+    /**
+     * The int[] specialization of the double[] method of the same name.
+     */
+    private static void mergeSort(int[] arr, int[] temp, int offset, int low, int high, int currentDepth, Metrics metrics) {
+        // Track the maximum recursion depth reached.
+        if (currentDepth > metrics.maxDepth) {
+            metrics.maxDepth = currentDepth;
+        }
+
+        // Base case: use insertion sort for small sub-arrays to reduce overhead.
+        if (high <= low + CUTOFF) {
+            insertionSort(arr, low, high, metrics);
+            return;
+        }
+
+        // Find the midpoint to divide the array.
+        int mid = low + (high - low) / 2;
+
+        // Recursively sort the left and right halves.
+        mergeSort(arr, temp, offset, low, mid, currentDepth + 1, metrics);
+        mergeSort(arr, temp, offset, mid + 1, high, currentDepth + 1, metrics);
+
+        // If the two halves are already sorted relative to each other, skip the merge.
+        // This is a common optimization for partially sorted data.
+        if (arr[mid] <= arr[mid + 1]) {
+            return;
+        }
+
+        // Merge the two sorted halves back into the original array.
+        merge(arr, temp, offset, low, mid, high, metrics);
+    }
+
+    /**
+     * The int[] specialization of the double[] method of the same name.
+     */
+    private static void merge(int[] arr, int[] temp, int offset, int low, int mid, int high, Metrics metrics) {
+        // Copy the sub-array to the temporary buffer.
+        for (int k = low; k <= high; k++) {
+            temp[k - offset] = arr[k];
+        }
+        mergeRuns(temp, low - offset, mid - offset, mid + 1 - offset, high - offset, arr, low, metrics);
+    }
+
+    /**
+     * The int[] specialization of the double[] method of the same name.
+     */
+    private static void mergeRuns(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int k, Metrics metrics) {
+        int i = lo1;      // Pointer for the first run
+        int j = lo2;      // Pointer for the second run
+        int end = k + (hi1 - lo1 + 1) + (hi2 - lo2 + 1);
+        long count = 0;
+
+        for (; k < end; k++) {
+            if (i > hi1) {
+                // First run is exhausted, copy from the second.
+                dst[k] = src[j++];
+            } else if (j > hi2) {
+                // Second run is exhausted, copy from the first.
+                dst[k] = src[i++];
+                count++;
+            } else if (src[j] < src[i]) {
+                // Element from the second run is smaller.
+                dst[k] = src[j++];
+                count++;
+            } else {
+                // Element from the first run is smaller or equal.
+                dst[k] = src[i++];
+                count++;
+            }
+        }
+        metrics.comparisons += count;
+    }
+
+    /**
+     * The int[] specialization of the double[] method of the same name.
+     */
+    private static void insertionSort(int[] arr, int low, int high, Metrics metrics) {
+        for (int i = low + 1; i <= high; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+                metrics.comparisons++;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * MergeSort for long[] keys: the same algorithm, cutoff, metrics and single buffer as
+     * sort(double[]), without widening the keys to double.
+     * @param arr The array to be sorted.
+     */
+    public static void sort(long[] arr) {
+        Metrics metrics = SEQUENTIAL_METRICS.get();
+        metrics.reset();
+        mergeSort(arr, new long[arr.length], 0, 0, arr.length - 1, 0, metrics);
+        publish(metrics);
+    }
+
+    /**
+     * The long[] specialization of the double[] method of the same name.
+     */
+    private static void mergeSort(long[] arr, long[] temp, int offset, int low, int high, int currentDepth, Metrics metrics) {
+        // Track the maximum recursion depth reached.
+        if (currentDepth > metrics.maxDepth) {
+            metrics.maxDepth = currentDepth;
+        }
+
+        // Base case: use insertion sort for small sub-arrays to reduce overhead.
+        if (high <= low + CUTOFF) {
+            insertionSort(arr, low, high, metrics);
+            return;
+        }
+
+        // Find the midpoint to divide the array.
+        int mid = low + (high - low) / 2;
+
+        // Recursively sort the left and right halves.
+        mergeSort(arr, temp, offset, low, mid, currentDepth + 1, metrics);
+        mergeSort(arr, temp, offset, mid + 1, high, currentDepth + 1, metrics);
+
+        // If the two halves are already sorted relative to each other, skip the merge.
+        // This is a common optimization for partially sorted data.
+        if (arr[mid] <= arr[mid + 1]) {
+            return;
+        }
+
+        // Merge the two sorted halves back into the original array.
+        merge(arr, temp, offset, low, mid, high, metrics);
+    }
+
+    /**
+     * The long[] specialization of the double[] method of the same name.
+     */
+    private static void merge(long[] arr, long[] temp, int offset, int low, int mid, int high, Metrics metrics) {
+        // Copy the sub-array to the temporary buffer.
+        for (int k = low; k <= high; k++) {
+            temp[k - offset] = arr[k];
+        }
+        mergeRuns(temp, low - offset, mid - offset, mid + 1 - offset, high - offset, arr, low, metrics);
+    }
+
+    /**
+     * The long[] specialization of the double[] method of the same name.
+     */
+    private static void mergeRuns(long[] src, int lo1, int hi1, int lo2, int hi2, long[] dst, int k, Metrics metrics) {
+        int i = lo1;      // Pointer for the first run
+        int j = lo2;      // Pointer for the second run
+        int end = k + (hi1 - lo1 + 1) + (hi2 - lo2 + 1);
+        long count = 0;
+
+        for (; k < end; k++) {
+            if (i > hi1) {
+                // First run is exhausted, copy from the second.
+                dst[k] = src[j++];
+            } else if (j > hi2) {
+                // Second run is exhausted, copy from the first.
+                dst[k] = src[i++];
+                count++;
+            } else if (src[j] < src[i]) {
+                // Element from the second run is smaller.
+                dst[k] = src[j++];
+                count++;
+            } else {
+                // Element from the first run is smaller or equal.
+                dst[k] = src[i++];
+                count++;
+            }
+        }
+        metrics.comparisons += count;
+    }
+
+    /**
+     * The long[] specialization of the double[] method of the same name.
+     */
+    private static void insertionSort(long[] arr, int low, int high, Metrics metrics) {
+        for (int i = low + 1; i <= high; i++) {
+            long key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+                metrics.comparisons++;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * MergeSort for float[] keys: the same algorithm, cutoff, metrics and single buffer as
+     * sort(double[]), without widening the keys to double. Keys are ordered by Float.compare
+     * (-0.0f before 0.0f, NaN last), as by Arrays.sort(float[]).
+     * @param arr The array to be sorted.
+     */
+    public static void sort(float[] arr) {
+        Metrics metrics = SEQUENTIAL_METRICS.get();
+        metrics.reset();
+        mergeSort(arr, new float[arr.length], 0, 0, arr.length - 1, 0, metrics);
+        publish(metrics);
+    }
+
+    /**
+     * The float[] specialization of the double[] method of the same name.
+     */
+    private static void mergeSort(float[] arr, float[] temp, int offset, int low, int high, int currentDepth, Metrics metrics) {
+        // Track the maximum recursion depth reached.
+        if (currentDepth > metrics.maxDepth) {
+            metrics.maxDepth = currentDepth;
+        }
+
+        // Base case: use insertion sort for small sub-arrays to reduce overhead.
+        if (high <= low + CUTOFF) {
+            insertionSort(arr, low, high, metrics);
+            return;
+        }
+
+        // Find the midpoint to divide the array.
+        int mid = low + (high - low) / 2;
+
+        // Recursively sort the left and right halves.
+        mergeSort(arr, temp, offset, low, mid, currentDepth + 1, metrics);
+        mergeSort(arr, temp, offset, mid + 1, high, currentDepth + 1, metrics);
+
+        // If the two halves are already sorted relative to each other, skip the merge.
+        // This is a common optimization for partially sorted data.
+        if (Float.compare(arr[mid], arr[mid + 1]) <= 0) {
+            return;
+        }
+
+        // Merge the two sorted halves back into the original array.
+        merge(arr, temp, offset, low, mid, high, metrics);
+    }
+
+    /**
+     * The float[] specialization of the double[] method of the same name.
+     */
+    private static void merge(float[] arr, float[] temp, int offset, int low, int mid, int high, Metrics metrics) {
+        // Copy the sub-array to the temporary buffer.
+        for (int k = low; k <= high; k++) {
+            temp[k - offset] = arr[k];
+        }
+        mergeRuns(temp, low - offset, mid - offset, mid + 1 - offset, high - offset, arr, low, metrics);
+    }
+
+    /**
+     * The float[] specialization of the double[] method of the same name.
+     */
+    private static void mergeRuns(float[] src, int lo1, int hi1, int lo2, int hi2, float[] dst, int k, Metrics metrics) {
+        int i = lo1;      // Pointer for the first run
+        int j = lo2;      // Pointer for the second run
+        int end = k + (hi1 - lo1 + 1) + (hi2 - lo2 + 1);
+        long count = 0;
+
+        for (; k < end; k++) {
+            if (i > hi1) {
+                // First run is exhausted, copy from the second.
+                dst[k] = src[j++];
+            } else if (j > hi2) {
+                // Second run is exhausted, copy from the first.
+                dst[k] = src[i++];
+                count++;
+            } else if (Float.compare(src[j], src[i]) < 0) {
+                // Element from the second run is smaller.
+                dst[k] = src[j++];
+                count++;
+            } else {
+                // Element from the first run is smaller or equal.
+                dst[k] = src[i++];
+                count++;
+            }
+        }
+        metrics.comparisons += count;
+    }
+
+    /**
+     * The float[] specialization of the double[] method of the same name.
+     */
+    private static void insertionSort(float[] arr, int low, int high, Metrics metrics) {
+        for (int i = low + 1; i <= high; i++) {
+            float key = arr[i];
+            int j = i - 1;
+            while (j >= low && Float.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+                metrics.comparisons++;
             }
             arr[j + 1] = key;
         }
@@ -0,0 +1,167 @@
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for the MergeSort modes.
+ * Usage: java MergeSortBenchmark [n]
+ */
+public class MergeSortBenchmark {
+
+    // Thread counts used for the scaling table.
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Reports the parallel MergeSort running time and speedup over the single-threaded sort.
+     * @param n The array length.
+     */
+    static void parallelScaling(int n) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+
+        System.out.println("--- Parallel MergeSort Scaling (N=" + n + ", cores=" + Runtime.getRuntime().availableProcessors() + ") ---");
+        long baseline = BenchmarkSupport.medianNanos(input, MergeSort::sort);
+        System.out.printf("%-8s %12s %8s%n", "threads", "time (ms)", "speedup");
+        for (int threads : THREADS) {
+            long nanos = BenchmarkSupport.medianNanos(input, arr -> MergeSort.parallelSort(arr, threads));
+            System.out.printf("%-8d %12.2f %8.2f%n", threads, nanos / 1_000_000.0, (double) baseline / nanos);
+        }
+    }
+
+    /**
+     * Compares the recursive top-down sort with the iterative bottom-up sort on every input distribution.
+     * @param n The array length.
+     */
+    static void bottomUp(int n) {
+        System.out.println("--- Top-Down vs Bottom-Up MergeSort (N=" + n + ", ms) ---");
+        System.out.printf("%-12s %12s %12s%n", "input", "top-down", "bottom-up");
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            long topDown = BenchmarkSupport.medianNanos(input, MergeSort::sort);
+            long bottomUp = BenchmarkSupport.medianNanos(input, MergeSort::sortBottomUp);
+            System.out.printf("%-12s %12.2f %12.2f%n", distribution, topDown / 1_000_000.0, bottomUp / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Compares the top-down sort with the adaptive run-detecting sort on every input distribution,
+     * together with the number of natural runs and gallop hits of the adaptive sort.
+     * @param n The array length.
+     */
+    static void adaptive(int n) {
+        System.out.println("--- Top-Down vs Adaptive MergeSort (N=" + n + ", ms) ---");
+        System.out.printf("%-12s %12s %12s %10s %10s%n", "input", "top-down", "adaptive", "runs", "gallops");
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            long topDown = BenchmarkSupport.medianNanos(input, MergeSort::sort);
+            long adaptive = BenchmarkSupport.medianNanos(input, MergeSort::sortAdaptive);
+            System.out.printf("%-12s %12.2f %12.2f %10d %10d%n", distribution, topDown / 1_000_000.0, adaptive / 1_000_000.0,
+                    MergeSort.getRunCount(), MergeSort.getGallopHits());
+        }
+    }
+
+    /**
+     * Reports the bytes allocated per sort by the allocating sort, the caller-supplied buffer
+     * overload and a reused MergeSorter, together with the running time over a batch of arrays.
+     * @param n The length of each array.
+     * @param batch The number of arrays sorted for the timing column.
+     */
+    static void allocation(int n, int batch) {
+        System.out.println("--- MergeSort Allocation (N=" + n + ", batch=" + batch + ") ---");
+        double[][] inputs = new double[batch][];
+        for (int b = 0; b < batch; b++) {
+            inputs[b] = BenchmarkSupport.randomArray(n, b);
+        }
+        double[] scratch = new double[n];
+        MergeSorter sorter = new MergeSorter();
+
+        System.out.printf("%-22s %14s %14s %12s%n", "mode", "bytes/sort", "MB/batch", "batch (ms)");
+        allocationRow("sort(arr)", inputs, MergeSort::sort);
+        allocationRow("sort(arr, scratch)", inputs, arr -> MergeSort.sort(arr, scratch));
+        allocationRow("MergeSorter", inputs, sorter::sort);
+    }
+
+    private static void allocationRow(String mode, double[][] inputs, Consumer<double[]> op) {
+        long bytes = BenchmarkSupport.allocatedBytes(inputs[0], op);
+        double[] work = new double[inputs[0].length];
+        Runnable batch = () -> {
+            for (double[] input : inputs) {
+                System.arraycopy(input, 0, work, 0, input.length);
+                op.accept(work);
+            }
+        };
+        long batchBytes = BenchmarkSupport.allocatedBytes(batch);
+        long nanos = BenchmarkSupport.medianNanos(batch);
+        System.out.printf("%-22s %14d %14.2f %12.2f%n", mode, bytes, batchBytes / 1e6, nanos / 1_000_000.0);
+    }
+
+    /**
+     * Sorts count equal segments of one array three ways: copying each segment out and back,
+     * sorting each range in place, and the parallel batch sort.
+     * @param n The array length.
+     * @param count The number of segments.
+     */
+    static void segments(int n, int count) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+        int[] segments = new int[2 * count];
+        for (int s = 0; s < count; s++) {
+            segments[2 * s] = (int) ((long) n * s / count);
+            segments[2 * s + 1] = (int) ((long) n * (s + 1) / count);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("--- Segment Sorts (N=" + n + ", segments=" + count + ", ms) ---");
+        long copied = BenchmarkSupport.medianNanos(input, arr -> {
+            for (int s = 0; s < count; s++) {
+                double[] part = Arrays.copyOfRange(arr, segments[2 * s], segments[2 * s + 1]);
+                MergeSort.sort(part);
+                System.arraycopy(part, 0, arr, segments[2 * s], part.length);
+            }
+        });
+        MergeSorter sorter = new MergeSorter();
+        long inPlace = BenchmarkSupport.medianNanos(input, arr -> {
+            for (int s = 0; s < count; s++) {
+                sorter.sort(arr, segments[2 * s], segments[2 * s + 1]);
+            }
+        });
+        long batch = BenchmarkSupport.medianNanos(input, arr -> MergeSort.parallelSortSegments(arr, segments, threads));
+        System.out.printf("%-28s %10.2f%n", "copy out, sort, copy back", copied / 1_000_000.0);
+        System.out.printf("%-28s %10.2f%n", "in-place range sort", inPlace / 1_000_000.0);
+        System.out.printf("%-28s %10.2f%n", "parallel batch (" + threads + " threads)", batch / 1_000_000.0);
+    }
+
+    /**
+     * Compares ways of ordering a key column together with a payload column: boxing the indices
+     * and sorting them with a comparator, the two argsort modes, and the key sort that carries
+     * a long[] payload.
+     * @param n The array length.
+     */
+    static void indirect(int n) {
+        double[] keys = BenchmarkSupport.randomArray(n, 42);
+        System.out.println("--- Indirect Sorts (N=" + n + ", ms) ---");
+        long boxed = BenchmarkSupport.medianNanos(() -> {
+            Integer[] idx = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                idx[i] = i;
+            }
+            Arrays.sort(idx, (a, b) -> Double.compare(keys[a], keys[b]));
+            return idx;
+        });
+        long mergeArgsort = BenchmarkSupport.medianNanos(() -> MergeSort.argsort(keys));
+        long quickArgsort = BenchmarkSupport.medianNanos(() -> QuickSort.argsort(keys));
+        long[] payload = new long[n];
+        long withPayload = BenchmarkSupport.medianNanos(keys, arr -> MergeSort.sort(arr, payload));
+        System.out.printf("%-28s %10.2f%n", "boxed Integer[] comparator", boxed / 1_000_000.0);
+        System.out.printf("%-28s %10.2f%n", "MergeSort.argsort (stable)", mergeArgsort / 1_000_000.0);
+        System.out.printf("%-28s %10.2f%n", "QuickSort.argsort", quickArgsort / 1_000_000.0);
+        System.out.printf("%-28s %10.2f%n", "sort(keys, long[] payload)", withPayload / 1_000_000.0);
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        parallelScaling(n);
+        bottomUp(n);
+        adaptive(n);
+        allocation(10_000, 1_000);
+        segments(n, 1_000);
+        indirect(n);
+    }
+}
@@ -1,94 +1,17 @@
 import java.util.Arrays;
 import java.util.Random;
+import java.util.function.Consumer;
 
-/** MergeSort Class (Modified for Testing)  **/
-class MergeSort {
-
-
-    public static final int CUTOFF = 7;
-
-
-    public static long comparisons = 0;
-    public static int maxRecursionDepth = 0;
-
-    /**
-     * Public-facing method to start the MergeSort process.*/
-    public static void sort(double[] arr) {
-        double[] temp = new double[arr.length];
-        comparisons = 0;
-        maxRecursionDepth = 0;
-        mergeSort(arr, temp, 0, arr.length - 1, 0);
-    }
-
-    private static void mergeSort(double[] arr, double[] temp, int low, int high, int currentDepth) {
-        if (currentDepth > maxRecursionDepth) {
-            maxRecursionDepth = currentDepth;
-        }
-
-        if (high <= low + CUTOFF) {
-            insertionSort(arr, low, high);
-            return;
-        }
-
-        int mid = low + (high - low) / 2;
-
-        mergeSort(arr, temp, low, mid, currentDepth + 1);
-        mergeSort(arr, temp, mid + 1, high, currentDepth + 1);
-
-        // Optimization: skip merge if already sorted
-        if (arr[mid] <= arr[mid + 1]) {
-            return;
-        }
-
-        merge(arr, temp, low, mid, high);
-    }
-
-    private static void merge(double[] arr, double[] temp, int low, int mid, int high) {
-        for (int k = low; k <= high; k++) {
-            temp[k] = arr[k];
-        }
-
-        int i = low;
-        int j = mid + 1;
-
-        for (int k = low; k <= high; k++) {
-            if (i > mid) {
-                arr[k] = temp[j++];
-            } else if (j > high) {
-                arr[k] = temp[i++];
-                comparisons++;
-            } else if (temp[j] < temp[i]) {
-                arr[k] = temp[j++];
-                comparisons++;
-            } else {
-                arr[k] = temp[i++];
-                comparisons++;
-            }
-        }
-    }
-
-    private static void insertionSort(double[] arr, int low, int high) {
-        for (int i = low + 1; i <= high; i++) {
-            double key = arr[i];
-            int j = i - 1;
-            while (j >= low && arr[j] > key) {
-                arr[j + 1] = arr[j];
-                j--;
-                comparisons++;
-            }
-            arr[j + 1] = key;
-        }
-    }
-}
-
-
-
+// Test
 public class MergeSortTest {
 
     private static final Random RANDOM = new Random();
     private static int totalTests = 0;
     private static int failedTests = 0;
 
+    // MergeSort's insertion-sort cutoff, for the theoretical depth printed with the metrics.
+    private static final int CUTOFF = 7;
+
     /** Generates a random array of the specified size **/
     private static double[] generateRandomArray(int size) {
         double[] arr = new double[size];
@@ -118,9 +41,16 @@ public class MergeSortTest {
     }
 
     /**
-     * Main test runner method.
+     * Main test runner method: sorts the input with MergeSort.sort.
      */
     private static void runTest(String name, double[] input) {
+        runTest(name, input, MergeSort::sort);
+    }
+
+    /**
+     * Sorts the input with the given MergeSort mode and compares it with Arrays.sort.
+     */
+    private static void runTest(String name, double[] input, Consumer<double[]> sort) {
         totalTests++;
         int N = input.length;
         double[] expected = Arrays.copyOf(input, N);
@@ -128,13 +58,13 @@ public class MergeSortTest {
         // Use Java's Arrays.sort as the reference implementation
         Arrays.sort(expected);
 
-        // Run the custom MergeSort
-        MergeSort.sort(input);
+        // Run the production MergeSort
+        sort.accept(input);
 
         System.out.println("--------------------------------------------------");
         System.out.printf("Running Test: %s (N=%d)\n", name, N);
 
-        boolean passed = isSorted(input);
+        boolean passed = isSorted(input) && arraysEqual(input, expected);
         if (passed) {
             System.out.println("Result: PASSED (Array is correctly sorted)");
         } else {
@@ -144,16 +74,116 @@ public class MergeSortTest {
 
         // Print Metrics
         System.out.printf("  Metrics:\n");
-        System.out.printf("    Total Comparisons: %d\n", MergeSort.comparisons);
-        System.out.printf("    Max Recursion Depth: %d\n", MergeSort.maxRecursionDepth);
+        System.out.printf("    Total Comparisons: %d\n", MergeSort.getComparisons());
+        System.out.printf("    Max Recursion Depth: %d\n", MergeSort.getMaxRecursionDepth());
 
         // Calculate expected theoretical depth for a balanced split
-        if (N > 0) {
-            double theoreticalDepth = Math.floor(Math.log(N / (MergeSort.CUTOFF + 1)) / Math.log(2)) + 1;
+        if (N > CUTOFF + 1) {
+            double theoreticalDepth = Math.floor(Math.log(N / (CUTOFF + 1)) / Math.log(2)) + 1;
             System.out.printf("    Theoretical Min Depth (approx.): %.2f\n", theoreticalDepth);
         }
     }
 
+    /**
+     * Checks that the call is rejected with an IllegalArgumentException.
+     */
+    private static void runRejectTest(String name, Runnable call) {
+        totalTests++;
+        boolean passed;
+        try {
+            call.run();
+            passed = false;
+        } catch (IllegalArgumentException e) {
+            passed = true;
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Running Test: %s\n", name);
+        if (passed) {
+            System.out.println("Result: PASSED (IllegalArgumentException thrown)");
+        } else {
+            failedTests++;
+            System.out.println("Result: FAILED (call was not rejected)");
+        }
+    }
+
+    /**
+     * Records a check that is not a plain sort comparison (a metric, a buffer, a range).
+     */
+    private static void runCheck(String name, boolean passed, String detail) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Running Test: %s\n", name);
+        if (passed) {
+            System.out.printf("Result: PASSED (%s)\n", detail);
+        } else {
+            failedTests++;
+            System.out.printf("Result: FAILED (%s)\n", detail);
+        }
+    }
+
+    /**
+     * Concatenates the given number of sorted runs of random values; overlapping value ranges
+     * make each merge alternate between plain comparisons and galloping.
+     */
+    private static double[] generateSortedRuns(int size, int runs) {
+        double[] arr = new double[size];
+        int runLength = (size + runs - 1) / runs;
+        for (int from = 0, r = 0; from < size; from += runLength, r++) {
+            int to = Math.min(size, from + runLength);
+            for (int i = from; i < to; i++) {
+                arr[i] = r * 100 + RANDOM.nextDouble() * 1000;
+            }
+            Arrays.sort(arr, from, to);
+        }
+        return arr;
+    }
+
+    /**
+     * Sorts the segments with parallelSortSegments and checks every segment against Arrays.sort
+     * of the same range, and that elements outside all segments did not move.
+     */
+    private static void runSegmentsTest(String name, double[] input, int[] segments) {
+        double[] expected = input.clone();
+        for (int s = 0; s < segments.length; s += 2) {
+            Arrays.sort(expected, segments[s], segments[s + 1]);
+        }
+        double[] arr = input.clone();
+        MergeSort.parallelSortSegments(arr, segments, 4);
+        runCheck("parallelSortSegments: " + name + " (" + segments.length / 2 + " segments, N=" + input.length + ")",
+                Arrays.equals(arr, expected), "every segment sorted, gaps untouched");
+    }
+
+    /**
+     * Cuts [0, n) into shuffled segments of random length, leaving random gaps and a few
+     * empty segments between them.
+     */
+    private static int[] generateSegments(int n, int maxLength) {
+        int[] segments = new int[0];
+        int count = 0;
+        for (int from = 0; from < n; ) {
+            int to = Math.min(n, from + RANDOM.nextInt(maxLength + 1));
+            if (count == segments.length / 2) {
+                segments = Arrays.copyOf(segments, Math.max(16, 2 * segments.length));
+            }
+            segments[2 * count] = from;
+            segments[2 * count + 1] = to;
+            count++;
+            from = to + RANDOM.nextInt(3);
+        }
+        segments = Arrays.copyOf(segments, 2 * count);
+        for (int i = count - 1; i > 0; i--) {
+            int j = RANDOM.nextInt(i + 1);
+            int from = segments[2 * i];
+            int to = segments[2 * i + 1];
+            segments[2 * i] = segments[2 * j];
+            segments[2 * i + 1] = segments[2 * j + 1];
+            segments[2 * j] = from;
+            segments[2 * j + 1] = to;
+        }
+        return segments;
+    }
+
     public static void main(String[] args) {
         System.out.println("--- MergeSort Unit Tests ---");
 
@@ -175,6 +205,144 @@ public class MergeSortTest {
         double[] duplicateArray = {5.0, 2.0, 8.0, 2.0, 5.0, 1.0, 8.0, 3.0};
         runTest("Small Array with Duplicates (N=8)", duplicateArray);
 
+        // 5. Parallel mode: a small granularity forces the forked halves and the co-rank parallel merge
+        for (int n : new int[] {0, 1, 100, 4097, 100_000}) {
+            runTest("parallelSort: Random (N=" + n + ")", generateRandomArray(n), arr -> MergeSort.parallelSort(arr, 4, 64));
+        }
+        double[] fewUnique = new double[100_000];
+        for (int i = 0; i < fewUnique.length; i++) fewUnique[i] = RANDOM.nextInt(4);
+        runTest("parallelSort: Few Unique (N=100000)", fewUnique, arr -> MergeSort.parallelSort(arr, 4, 64));
+        runTest("parallelSort: Default Granularity (N=100000)", generateRandomArray(100_000), arr -> MergeSort.parallelSort(arr, 3));
+        runRejectTest("parallelSort: Parallelism 0", () -> MergeSort.parallelSort(new double[10], 0));
+
+        // 6. Bottom-up mode: odd sizes leave a lone trailing run, sorted input skips every merge
+        for (int n : new int[] {0, 1, 8, 9, 1000, 4097}) {
+            runTest("sortBottomUp: Random (N=" + n + ")", generateRandomArray(n), MergeSort::sortBottomUp);
+        }
+        double[] sortedBottomUp = new double[5000];
+        for (int i = 0; i < sortedBottomUp.length; i++) sortedBottomUp[i] = i;
+        runTest("sortBottomUp: Already Sorted (N=5000)", sortedBottomUp, MergeSort::sortBottomUp);
+        double[] reverseBottomUp = new double[5000];
+        for (int i = 0; i < reverseBottomUp.length; i++) reverseBottomUp[i] = 5000 - i;
+        runTest("sortBottomUp: Reverse Sorted (N=5000)", reverseBottomUp, MergeSort::sortBottomUp);
+        double[] fewUniqueBottomUp = new double[10_000];
+        for (int i = 0; i < fewUniqueBottomUp.length; i++) fewUniqueBottomUp[i] = RANDOM.nextInt(4);
+        runTest("sortBottomUp: Few Unique (N=10000)", fewUniqueBottomUp, MergeSort::sortBottomUp);
+
+        // 7. Adaptive mode: natural runs are found, reversed or extended, then merged with galloping
+        for (int n : new int[] {0, 1, 2, 31, 33, 1000, 100_000}) {
+            runTest("sortAdaptive: Random (N=" + n + ")", generateRandomArray(n), MergeSort::sortAdaptive);
+        }
+        double[] sortedAdaptive = new double[5000];
+        for (int i = 0; i < sortedAdaptive.length; i++) sortedAdaptive[i] = i;
+        runTest("sortAdaptive: Already Sorted (N=5000)", sortedAdaptive, MergeSort::sortAdaptive);
+        runCheck("sortAdaptive: Already Sorted is one run with N - 1 comparisons",
+                MergeSort.getRunCount() == 1 && MergeSort.getComparisons() == sortedAdaptive.length - 1,
+                MergeSort.getRunCount() + " runs, " + MergeSort.getComparisons() + " comparisons");
+        double[] reverseAdaptive = new double[5000];
+        for (int i = 0; i < reverseAdaptive.length; i++) reverseAdaptive[i] = 5000 - i;
+        runTest("sortAdaptive: Reverse Sorted (N=5000)", reverseAdaptive, MergeSort::sortAdaptive);
+        runCheck("sortAdaptive: Reverse Sorted is reversed as one run", MergeSort.getRunCount() == 1,
+                MergeSort.getRunCount() + " runs");
+        for (int runs : new int[] {2, 8, 64}) {
+            runTest("sortAdaptive: " + runs + " Sorted Runs (N=100000)", generateSortedRuns(100_000, runs), MergeSort::sortAdaptive);
+            runCheck("sortAdaptive: " + runs + " Sorted Runs are found and galloped",
+                    MergeSort.getRunCount() == runs && MergeSort.getGallopHits() > 0,
+                    MergeSort.getRunCount() + " runs, " + MergeSort.getGallopHits() + " gallop hits");
+        }
+        double[] fewUniqueAdaptive = new double[10_000];
+        for (int i = 0; i < fewUniqueAdaptive.length; i++) fewUniqueAdaptive[i] = RANDOM.nextInt(4);
+        runTest("sortAdaptive: Few Unique (N=10000)", fewUniqueAdaptive, MergeSort::sortAdaptive);
+        double[] rangeInput = generateRandomArray(1000);
+        double[] rangeAdaptive = rangeInput.clone();
+        MergeSort.sortAdaptive(rangeAdaptive, 100, 900);
+        double[] rangeExpected = rangeInput.clone();
+        Arrays.sort(rangeExpected, 100, 900);
+        runCheck("sortAdaptive: Range [100, 900) of N=1000", Arrays.equals(rangeAdaptive, rangeExpected),
+                "only the range is sorted");
+
+        // 8. Reusable buffers: MergeSorter grows its buffer to the largest sort and then keeps it
+        MergeSorter sorter = new MergeSorter();
+        for (int n : new int[] {10, 1000, 100_000, 50, 100_000, 0}) {
+            runTest("MergeSorter: Random (N=" + n + ")", generateRandomArray(n), sorter::sort);
+        }
+        runCheck("MergeSorter: Buffer Kept After Smaller Sorts", sorter.capacity() == 100_000,
+                "capacity " + sorter.capacity());
+        MergeSorter presized = new MergeSorter(64);
+        presized.sort(generateRandomArray(65));
+        runCheck("MergeSorter: Buffer At Least Doubles", presized.capacity() == 128, "capacity " + presized.capacity());
+        double[] rangeSorterInput = generateRandomArray(1000);
+        double[] rangeSorter = rangeSorterInput.clone();
+        MergeSorter.forCurrentThread().sort(rangeSorter, 250, 750);
+        double[] rangeSorterExpected = rangeSorterInput.clone();
+        Arrays.sort(rangeSorterExpected, 250, 750);
+        runCheck("MergeSorter: Range [250, 750) of N=1000", Arrays.equals(rangeSorter, rangeSorterExpected),
+                "only the range is sorted");
+        runCheck("MergeSorter: forCurrentThread Is Per Thread", MergeSorter.forCurrentThread() == MergeSorter.forCurrentThread(),
+                "same instance on one thread");
+        double[] longScratch = new double[20_000];
+        runTest("sort(arr, scratch): Longer Buffer (N=10000)", generateRandomArray(10_000), arr -> MergeSort.sort(arr, longScratch));
+        runRejectTest("sort(arr, scratch): Buffer Too Small", () -> MergeSort.sort(new double[100], new double[99]));
+        runRejectTest("MergeSorter: Negative Capacity", () -> new MergeSorter(-1));
+
+        // 9. Range sorts: only arr[from..to) may move
+        double[] rangeInputTopDown = generateRandomArray(1000);
+        double[] rangeTopDown = rangeInputTopDown.clone();
+        MergeSort.sort(rangeTopDown, 10, 990);
+        double[] rangeExpectedTopDown = rangeInputTopDown.clone();
+        Arrays.sort(rangeExpectedTopDown, 10, 990);
+        runCheck("sort(arr, from, to): Range [10, 990) of N=1000", Arrays.equals(rangeTopDown, rangeExpectedTopDown),
+                "only the range is sorted");
+
+        // 10. Segment batches: many small segments grouped per task, a few large ones, empty ones
+        runSegmentsTest("Small Shuffled Segments", generateRandomArray(200_000), generateSegments(200_000, 100));
+        runSegmentsTest("Large Shuffled Segments", generateRandomArray(200_000), generateSegments(200_000, 50_000));
+        runSegmentsTest("Whole Array", generateRandomArray(10_000), new int[] {0, 10_000});
+        runSegmentsTest("No Segments", generateRandomArray(100), new int[0]);
+        runSegmentsTest("Adjacent Segments", generateRandomArray(100), new int[] {50, 100, 0, 50});
+        runSegmentsTest("Empty Segments, Also Inside Another", generateRandomArray(100),
+                new int[] {10, 10, 0, 60, 30, 30, 60, 60, 100, 100});
+        runRejectTest("parallelSortSegments: Overlapping Segments",
+                () -> MergeSort.parallelSortSegments(new double[100], new int[] {0, 50, 49, 100}, 4));
+        runRejectTest("parallelSortSegments: Segment Inside Another",
+                () -> MergeSort.parallelSortSegments(new double[100], new int[] {20, 30, 0, 100}, 4));
+        runRejectTest("parallelSortSegments: Same Segment Twice",
+                () -> MergeSort.parallelSortSegments(new double[100], new int[] {0, 10, 0, 10}, 4));
+        runRejectTest("parallelSortSegments: Odd Number of Bounds",
+                () -> MergeSort.parallelSortSegments(new double[100], new int[] {0, 10, 20}, 4));
+        runRejectTest("parallelSortSegments: Parallelism 0",
+                () -> MergeSort.parallelSortSegments(new double[100], new int[] {0, 10}, 0));
+
+        // 11. Indirect modes: argsort is stable and leaves keys alone, the payload travels with its key
+        for (int n : new int[] {0, 1, 7, 1000, 100_000}) {
+            double[] keys = new double[n];
+            for (int i = 0; i < n; i++) keys[i] = RANDOM.nextInt(Math.max(1, n / 10));
+            double[] keysBefore = keys.clone();
+            int[] idx = MergeSort.argsort(keys);
+            boolean stable = idx.length == n && Arrays.equals(keys, keysBefore);
+            boolean[] seen = new boolean[n];
+            for (int i = 0; stable && i < n; i++) {
+                stable = !seen[idx[i]];
+                seen[idx[i]] = true;
+                // Sorted keys, and equal keys in their original (index) order.
+                stable &= i == 0 || keys[idx[i - 1]] < keys[idx[i]] || (keys[idx[i - 1]] == keys[idx[i]] && idx[i - 1] < idx[i]);
+            }
+            runCheck("argsort: Stable Permutation, Keys Unchanged (N=" + n + ")", stable, "permutation sorts the keys stably");
+
+            // Each payload encodes the original position of its key, so a stable sort fixes it exactly.
+            double[] payloadKeys = keysBefore.clone();
+            long[] payload = new long[n];
+            for (int i = 0; i < n; i++) payload[i] = i;
+            MergeSort.sort(payloadKeys, payload);
+            boolean travelled = true;
+            for (int i = 0; i < n; i++) {
+                travelled &= payload[i] == idx[i] && payloadKeys[i] == keysBefore[(int) payload[i]];
+            }
+            runCheck("sort(keys, payload): Payload Travels With Its Key (N=" + n + ")",
+                    travelled && isSorted(payloadKeys), "payload[i] is the original position of keys[i]");
+        }
+        runRejectTest("sort(keys, payload): Length Mismatch", () -> MergeSort.sort(new double[10], new long[9]));
+
         System.out.println("--------------------------------------------------");
         System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
         if (failedTests == 0) {
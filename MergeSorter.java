@@ -0,0 +1,79 @@
+import java.util.Objects;
+
+/**
+ * Reusable MergeSort front end that owns a growable scratch buffer.
+ * MergeSort.sort(double[]) allocates a buffer of size n on every call; a MergeSorter keeps its
+ * buffer between calls, so repeated sorts reach zero steady-state allocation.
+ * Features:
+ * - The buffer grows (at least doubling) to the largest array sorted so far and is then reused.
+ * - An instance is not thread-safe; forCurrentThread() hands out one instance per thread.
+ * - Metrics are reported through MergeSort.getComparisons() and MergeSort.getMaxRecursionDepth().
+ */
+public final class MergeSorter {
+
+    private static final ThreadLocal<MergeSorter> PER_THREAD = ThreadLocal.withInitial(MergeSorter::new);
+
+    private double[] scratch;
+
+    /**
+     * Creates a sorter with an empty buffer; it grows on the first sort.
+     */
+    public MergeSorter() {
+        this(0);
+    }
+
+    /**
+     * Creates a sorter whose buffer already fits arrays of the given length.
+     * @param initialCapacity The initial buffer length.
+     */
+    public MergeSorter(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        scratch = new double[initialCapacity];
+    }
+
+    /**
+     * @return The sorter confined to the calling thread.
+     */
+    public static MergeSorter forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Sorts the array with MergeSort, reusing this sorter's buffer.
+     * @param arr The array to be sorted.
+     */
+    public void sort(double[] arr) {
+        MergeSort.sort(arr, scratchFor(arr.length));
+    }
+
+    /**
+     * Sorts the range arr[from..to) with MergeSort, reusing this sorter's buffer.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     */
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        MergeSort.sort(arr, from, to, scratchFor(to - from));
+    }
+
+    /**
+     * @return The current buffer length.
+     */
+    public int capacity() {
+        return scratch.length;
+    }
+
+    /**
+     * Returns a buffer of at least n elements, growing the owned one if needed.
+     */
+    private double[] scratchFor(int n) {
+        if (scratch.length < n) {
+            int doubled = scratch.length * 2;
+            scratch = new double[doubled > n ? doubled : n];
+        }
+        return scratch;
+    }
+}
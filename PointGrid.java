@@ -0,0 +1,190 @@
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the plane with square cells of a given side, used by the hashing
+ * closest-pair engines.
+ * Cells are kept in an open-addressing hash map keyed by the two primitive cell coordinates
+ * (no boxing, no per-cell objects); the points of a cell form an intrusive linked list
+ * through the next[] array, indexed by the caller's point ids.
+ */
+class PointGrid {
+
+    // Marks an empty hash slot / the end of a cell's point list.
+    static final int NONE = -1;
+
+    private double cellSize;
+    private double originX, originY;
+
+    // Hash table: cell coordinates and the first point id of each occupied slot.
+    private long[] keyX, keyY;
+    private int[] head;
+    private int occupied;
+
+    // next[id] is the following point in the same cell.
+    private int[] next;
+
+    /**
+     * Creates an empty grid.
+     * @param expectedPoints The number of points the grid should hold without resizing.
+     */
+    PointGrid(int expectedPoints) {
+        allocateTable(tableSizeFor(expectedPoints));
+        next = new int[Math.max(expectedPoints, 2)];
+    }
+
+    /**
+     * Removes all points and sets a new cell size. Cell (0, 0) starts at the origin.
+     * @param cellSize The side of a cell; must be positive.
+     * @param originX The x-coordinate of the grid origin.
+     * @param originY The y-coordinate of the grid origin.
+     * @param expectedPoints The number of points that will be inserted after the reset.
+     */
+    void reset(double cellSize, double originX, double originY, int expectedPoints) {
+        this.cellSize = cellSize;
+        this.originX = originX;
+        this.originY = originY;
+        int tableSize = tableSizeFor(expectedPoints);
+        if (tableSize > head.length) {
+            allocateTable(tableSize);
+        } else {
+            Arrays.fill(head, NONE);
+        }
+        occupied = 0;
+        if (next.length < expectedPoints) {
+            next = Arrays.copyOf(next, expectedPoints);
+        }
+    }
+
+    long cellX(double x) {
+        return (long) Math.floor((x - originX) / cellSize);
+    }
+
+    long cellY(double y) {
+        return (long) Math.floor((y - originY) / cellSize);
+    }
+
+    /**
+     * Adds a point to its cell. The table grows when it becomes half full.
+     * @param id The caller's point id (index into its coordinate arrays).
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    void insert(int id, double x, double y) {
+        if (id >= next.length) {
+            next = Arrays.copyOf(next, Math.max(id + 1, next.length * 2));
+        }
+        if (2 * (occupied + 1) > head.length) {
+            grow();
+        }
+        long cx = cellX(x);
+        long cy = cellY(y);
+        int slot = find(cx, cy);
+        if (head[slot] == NONE) {
+            keyX[slot] = cx;
+            keyY[slot] = cy;
+            occupied++;
+        }
+        next[id] = head[slot];
+        head[slot] = id;
+    }
+
+    /**
+     * Clears the grid and inserts points 0..count-1 with a new cell size.
+     * @param xs The x-coordinates, indexed by point id.
+     * @param ys The y-coordinates, indexed by point id.
+     * @param count The number of points to insert.
+     * @param cellSize The new side of a cell; must be positive.
+     */
+    void rebuild(double[] xs, double[] ys, int count, double cellSize) {
+        reset(cellSize, xs[0], ys[0], count);
+        for (int i = 0; i < count; i++) {
+            insert(i, xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Finds the stored point nearest to (x, y) among those strictly closer than sqrt(maxDist2).
+     * Only the 3x3 block of cells around (x, y) is scanned, which is exact as long as
+     * sqrt(maxDist2) does not exceed the cell size.
+     * @param x The query x-coordinate.
+     * @param y The query y-coordinate.
+     * @param xs The x-coordinates, indexed by point id.
+     * @param ys The y-coordinates, indexed by point id.
+     * @param maxDist2 The squared distance bound.
+     * @return The id of the nearest such point, or NONE.
+     */
+    int nearestWithin(double x, double y, double[] xs, double[] ys, double maxDist2) {
+        long cx = cellX(x);
+        long cy = cellY(y);
+        int nearest = NONE;
+        double nearestDist2 = maxDist2;
+
+        for (long gx = cx - 1; gx <= cx + 1; gx++) {
+            for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                for (int j = first(gx, gy); j != NONE; j = next[j]) {
+                    double dx = x - xs[j];
+                    double dy = y - ys[j];
+                    double dist2 = dx * dx + dy * dy;
+                    if (dist2 < nearestDist2) {
+                        nearestDist2 = dist2;
+                        nearest = j;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * @return The first point id in the cell, or NONE if the cell is empty.
+     */
+    private int first(long cx, long cy) {
+        return head[find(cx, cy)];
+    }
+
+    // Returns the slot holding (cx, cy), or the empty slot where it would be inserted.
+    private int find(long cx, long cy) {
+        int mask = head.length - 1;
+        int slot = hash(cx, cy) & mask;
+        while (head[slot] != NONE && (keyX[slot] != cx || keyY[slot] != cy)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldX = keyX, oldY = keyY;
+        int[] oldHead = head;
+        allocateTable(oldHead.length * 2);
+        for (int i = 0; i < oldHead.length; i++) {
+            if (oldHead[i] != NONE) {
+                int slot = find(oldX[i], oldY[i]);
+                keyX[slot] = oldX[i];
+                keyY[slot] = oldY[i];
+                head[slot] = oldHead[i];
+            }
+        }
+    }
+
+    private void allocateTable(int size) {
+        keyX = new long[size];
+        keyY = new long[size];
+        head = new int[size];
+        Arrays.fill(head, NONE);
+    }
+
+    private static int tableSizeFor(int points) {
+        int size = 16;
+        while (size < 2 * points) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int hash(long cx, long cy) {
+        long h = cx * 0x9E3779B97F4A7C15L + cy;
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.Random;
+
+/**
+ * Compares the int[], long[] and float[] overloads of MergeSort.sort, QuickSort.sortNoShuffle
+ * and DeterSelect.select with the double[] path on random input of the same length.
+ * Every timed run copies the input first, for all types alike.
+ * Usage: java PrimitiveTypesBenchmark [n]
+ */
+public class PrimitiveTypesBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int k = n / 2;
+        Random random = new Random(42);
+        double[] doubles = new double[n];
+        int[] ints = new int[n];
+        long[] longs = new long[n];
+        float[] floats = new float[n];
+        for (int i = 0; i < n; i++) {
+            doubles[i] = random.nextDouble();
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+            floats[i] = random.nextFloat();
+        }
+        double[] workDoubles = new double[n];
+        int[] workInts = new int[n];
+        long[] workLongs = new long[n];
+        float[] workFloats = new float[n];
+
+        System.out.println("--- Primitive Type Variants (N=" + n + ", ms) ---");
+        System.out.printf("%-8s %12s %12s %12s%n", "type", "MergeSort", "QuickSort", "select");
+        row("double",
+                () -> { System.arraycopy(doubles, 0, workDoubles, 0, n); MergeSort.sort(workDoubles); },
+                () -> { System.arraycopy(doubles, 0, workDoubles, 0, n); QuickSort.sortNoShuffle(workDoubles); },
+                () -> { System.arraycopy(doubles, 0, workDoubles, 0, n); BenchmarkSupport.consume(DeterSelect.select(workDoubles, 0, n - 1, k)); });
+        row("int",
+                () -> { System.arraycopy(ints, 0, workInts, 0, n); MergeSort.sort(workInts); },
+                () -> { System.arraycopy(ints, 0, workInts, 0, n); QuickSort.sortNoShuffle(workInts); },
+                () -> { System.arraycopy(ints, 0, workInts, 0, n); BenchmarkSupport.consume(DeterSelect.select(workInts, 0, n - 1, k)); });
+        row("long",
+                () -> { System.arraycopy(longs, 0, workLongs, 0, n); MergeSort.sort(workLongs); },
+                () -> { System.arraycopy(longs, 0, workLongs, 0, n); QuickSort.sortNoShuffle(workLongs); },
+                () -> { System.arraycopy(longs, 0, workLongs, 0, n); BenchmarkSupport.consume(DeterSelect.select(workLongs, 0, n - 1, k)); });
+        row("float",
+                () -> { System.arraycopy(floats, 0, workFloats, 0, n); MergeSort.sort(workFloats); },
+                () -> { System.arraycopy(floats, 0, workFloats, 0, n); QuickSort.sortNoShuffle(workFloats); },
+                () -> { System.arraycopy(floats, 0, workFloats, 0, n); BenchmarkSupport.consume(DeterSelect.select(workFloats, 0, n - 1, k)); });
+    }
+
+    private static void row(String type, Runnable mergeSort, Runnable quickSort, Runnable select) {
+        System.out.printf("%-8s %12.2f %12.2f %12.2f%n", type,
+                BenchmarkSupport.medianNanos(mergeSort) / 1_000_000.0,
+                BenchmarkSupport.medianNanos(quickSort) / 1_000_000.0,
+                BenchmarkSupport.medianNanos(select) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,231 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Test
+public class PrimitiveTypesTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 100, 10_000};
+
+    /**
+     * Prints one result in the format of the other test drivers and counts it.
+     */
+    private static void report(String name, int n, boolean passed) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, n);
+        System.out.printf("Correctness Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    private static int[] ints(int n, int bound) {
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = bound > 0 ? RANDOM.nextInt(bound) - bound / 2 : RANDOM.nextInt();
+        }
+        if (n > 1 && bound == 0) {
+            arr[0] = Integer.MIN_VALUE;
+            arr[n - 1] = Integer.MAX_VALUE;
+        }
+        return arr;
+    }
+
+    private static long[] longs(int n, int bound) {
+        long[] arr = new long[n];
+        for (int i = 0; i < n; i++) {
+            // Values differing only below bit 53 collide when widened to double.
+            arr[i] = bound > 0 ? RANDOM.nextInt(bound) - bound / 2 : (1L << 60) + RANDOM.nextInt(1000);
+        }
+        if (n > 1 && bound == 0) {
+            arr[0] = Long.MIN_VALUE;
+            arr[n - 1] = Long.MAX_VALUE;
+        }
+        return arr;
+    }
+
+    private static float[] floats(int n, int bound) {
+        float[] special = {Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.MIN_VALUE, -Float.MAX_VALUE};
+        float[] arr = new float[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = bound > 0 ? RANDOM.nextInt(bound) - bound / 2
+                    : RANDOM.nextInt(10) == 0 ? special[RANDOM.nextInt(special.length)] : RANDOM.nextFloat() * 2000 - 1000;
+        }
+        return arr;
+    }
+
+    /**
+     * Sorts and selects one int[] input with every overload and compares with Arrays.sort.
+     */
+    private static void runIntTests(String name, int[] input) {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        int[] arr = input.clone();
+        MergeSort.sort(arr);
+        report("MergeSort int[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sortNoShuffle(arr);
+        report("QuickSort.sortNoShuffle int[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sort(arr);
+        report("QuickSort.sort int[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        boolean passed = true;
+        for (int k = 0; k < input.length; k += Math.max(1, input.length / 5)) {
+            arr = input.clone();
+            passed &= DeterSelect.select(arr, 0, arr.length - 1, k) == expected[k];
+            int[] permuted = arr.clone();
+            Arrays.sort(permuted);
+            passed &= Arrays.equals(permuted, expected);
+        }
+        report("select int[]: " + name, input.length, passed);
+
+        // Sub-range: only arr[low..high] may move.
+        passed = true;
+        int low = input.length / 4;
+        int high = input.length - 1 - input.length / 4;
+        if (low <= high) {
+            int[] expectedRange = Arrays.copyOfRange(input, low, high + 1);
+            Arrays.sort(expectedRange);
+            for (int k = low; k <= high; k += Math.max(1, (high - low) / 5)) {
+                arr = input.clone();
+                passed &= DeterSelect.select(arr, low, high, k - low) == expectedRange[k - low];
+                passed &= Arrays.equals(arr, 0, low, input, 0, low)
+                        && Arrays.equals(arr, high + 1, arr.length, input, high + 1, input.length);
+            }
+        }
+        report("select int[] sub-range: " + name, input.length, passed);
+    }
+
+    /**
+     * Sorts and selects one long[] input with every overload and compares with Arrays.sort.
+     */
+    private static void runLongTests(String name, long[] input) {
+        long[] expected = input.clone();
+        Arrays.sort(expected);
+
+        long[] arr = input.clone();
+        MergeSort.sort(arr);
+        report("MergeSort long[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sortNoShuffle(arr);
+        report("QuickSort.sortNoShuffle long[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sort(arr);
+        report("QuickSort.sort long[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        boolean passed = true;
+        for (int k = 0; k < input.length; k += Math.max(1, input.length / 5)) {
+            arr = input.clone();
+            passed &= DeterSelect.select(arr, 0, arr.length - 1, k) == expected[k];
+            long[] permuted = arr.clone();
+            Arrays.sort(permuted);
+            passed &= Arrays.equals(permuted, expected);
+        }
+        report("select long[]: " + name, input.length, passed);
+
+        // Sub-range: only arr[low..high] may move.
+        passed = true;
+        int low = input.length / 4;
+        int high = input.length - 1 - input.length / 4;
+        if (low <= high) {
+            long[] expectedRange = Arrays.copyOfRange(input, low, high + 1);
+            Arrays.sort(expectedRange);
+            for (int k = low; k <= high; k += Math.max(1, (high - low) / 5)) {
+                arr = input.clone();
+                passed &= DeterSelect.select(arr, low, high, k - low) == expectedRange[k - low];
+                passed &= Arrays.equals(arr, 0, low, input, 0, low)
+                        && Arrays.equals(arr, high + 1, arr.length, input, high + 1, input.length);
+            }
+        }
+        report("select long[] sub-range: " + name, input.length, passed);
+    }
+
+    /**
+     * Sorts and selects one float[] input with every overload and compares with Arrays.sort,
+     * which orders by Float.compare (-0.0f before 0.0f, NaN last).
+     */
+    private static void runFloatTests(String name, float[] input) {
+        float[] expected = input.clone();
+        Arrays.sort(expected);
+
+        float[] arr = input.clone();
+        MergeSort.sort(arr);
+        report("MergeSort float[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sortNoShuffle(arr);
+        report("QuickSort.sortNoShuffle float[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        arr = input.clone();
+        QuickSort.sort(arr);
+        report("QuickSort.sort float[]: " + name, input.length, Arrays.equals(arr, expected));
+
+        boolean passed = true;
+        for (int k = 0; k < input.length; k += Math.max(1, input.length / 5)) {
+            arr = input.clone();
+            passed &= Float.compare(DeterSelect.select(arr, 0, arr.length - 1, k), expected[k]) == 0;
+            float[] permuted = arr.clone();
+            Arrays.sort(permuted);
+            passed &= Arrays.equals(permuted, expected);
+        }
+        report("select float[]: " + name, input.length, passed);
+
+        // Sub-range: only arr[low..high] may move.
+        passed = true;
+        int low = input.length / 4;
+        int high = input.length - 1 - input.length / 4;
+        if (low <= high) {
+            float[] expectedRange = Arrays.copyOfRange(input, low, high + 1);
+            Arrays.sort(expectedRange);
+            for (int k = low; k <= high; k += Math.max(1, (high - low) / 5)) {
+                arr = input.clone();
+                passed &= Float.compare(DeterSelect.select(arr, low, high, k - low), expectedRange[k - low]) == 0;
+                passed &= Arrays.equals(arr, 0, low, input, 0, low)
+                        && Arrays.equals(arr, high + 1, arr.length, input, high + 1, input.length);
+            }
+        }
+        report("select float[] sub-range: " + name, input.length, passed);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- Primitive Type Tests ---");
+
+        for (int n : SIZES) {
+            // 1. Full-range values, with the extremes of each type
+            runIntTests("Random", ints(n, 0));
+            runLongTests("Random above 2^53", longs(n, 0));
+            runFloatTests("Random with NaN, signed zeros and infinities", floats(n, 0));
+
+            // 2. Few distinct values
+            runIntTests("Few Unique", ints(n, 8));
+            runLongTests("Few Unique", longs(n, 8));
+            runFloatTests("Few Unique", floats(n, 8));
+        }
+
+        // 3. Inputs made only of the special float values
+        float[] allNaN = new float[1000];
+        Arrays.fill(allNaN, Float.NaN);
+        runFloatTests("All NaN", allNaN);
+        float[] zeros = new float[1000];
+        for (int i = 0; i < zeros.length; i++) {
+            zeros[i] = RANDOM.nextBoolean() ? -0.0f : 0.0f;
+        }
+        runFloatTests("Signed Zeros", zeros);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: The int[], long[] and float[] overloads agree with Arrays.sort.");
+        }
+    }
+}
@@ -0,0 +1,372 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mergeable streaming quantile sketch (KLL, Karnin-Lang-Liberty) for unbounded streams that
+ * cannot be materialised for DeterSelect.select.
+ * Features:
+ * - A stack of compactors: an item on level h stands for 2^h stream items. When the sketch
+ *   is full, the lowest full level is sorted (QuickSort's no-shuffle range sort) and every
+ *   other item, starting at a random offset, is promoted to the next level.
+ * - Level capacities shrink geometrically (factor 2/3) from the top, so about 3k items are
+ *   retained however long the stream is, and the rank error is about 1.3% for k = 200
+ *   (see normalizedRankError()).
+ * - merge() adds another sketch level by level, so shards built on different nodes can be
+ *   combined, and toBytes()/fromBytes() give a compact binary form for shipping them.
+ * - quantile() sorts the retained items together with their weights (MergeSort's payload
+ *   sort) and walks the cumulative weight.
+ * An instance is not thread-safe.
+ */
+public class QuantileSketch {
+
+    // Default accuracy parameter.
+    public static final int DEFAULT_K = 200;
+
+    // Levels never get a capacity below this.
+    private static final int MIN_WIDTH = 8;
+
+    // Capacity ratio between a level and the one above it.
+    private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+    // Serialization header: magic number and format version.
+    private static final int MAGIC = 0x4B4C4C31;
+
+    // Items on level h weigh 2^h, so a long stream count never needs more levels than this.
+    private static final int MAX_LEVELS = Long.SIZE - 1;
+
+    // Bytes of the serialized header before the levels.
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4;
+
+    private final int k;
+    private final RandomGenerator rng;
+
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int levelCount = 1;
+    private int retained = 0;
+
+    // Sum of the level capacities; only changes when a level is added.
+    private int totalCapacity;
+
+    private long n = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Creates a sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a sketch whose rank error shrinks roughly as 1/k.
+     * @param k The accuracy parameter (at least MIN_WIDTH).
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    /**
+     * Creates a sketch with the given generator for the compaction coin flips;
+     * a seeded generator makes the sketch reproducible.
+     * @param k The accuracy parameter (at least MIN_WIDTH).
+     * @param rng The random generator.
+     */
+    public QuantileSketch(int k, RandomGenerator rng) {
+        if (k < MIN_WIDTH) {
+            throw new IllegalArgumentException("k must be at least " + MIN_WIDTH + ": " + k);
+        }
+        this.k = k;
+        this.rng = rng;
+        levels[0] = new double[k];
+        totalCapacity = capacity(0);
+    }
+
+    /**
+     * Creates a sketch whose normalized rank error is about epsilon.
+     * @param epsilon The target rank error, e.g. 0.01 for 1%.
+     * @return The new sketch.
+     */
+    public static QuantileSketch forError(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be in (0, 1): " + epsilon);
+        }
+        // Inverse of normalizedRankError().
+        int k = (int) Math.ceil(Math.pow(2.296 / epsilon, 1 / 0.9723));
+        return new QuantileSketch(Math.max(MIN_WIDTH, k));
+    }
+
+    /**
+     * @return The approximate normalized rank error (99% confidence) for this k, using the
+     * empirical fit 2.296 / k^0.9723 published for KLL sketches.
+     */
+    public double normalizedRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /**
+     * Adds one item of the stream. NaN is ignored.
+     * @param value The item.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (n == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        n++;
+        append(0, value);
+        if (retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds the items of another sketch with the same k; the other sketch is not modified.
+     * Merging a sketch into itself counts every item twice.
+     * @param other The sketch to merge in.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("cannot merge sketches with k " + k + " and " + other.k);
+        }
+        if (other.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        // Snapshot the other levels first: when other == this, append() grows them while they are read.
+        // append() only writes past the old sizes or into a new array, so the snapshot stays valid.
+        int otherLevelCount = other.levelCount;
+        int[] otherSizes = Arrays.copyOf(other.sizes, otherLevelCount);
+        double[][] otherLevels = Arrays.copyOf(other.levels, otherLevelCount);
+        n += other.n;
+        for (int h = 0; h < otherLevelCount; h++) {
+            for (int i = 0; i < otherSizes[h]; i++) {
+                append(h, otherLevels[h][i]);
+            }
+        }
+        while (retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Returns an approximation of the element of rank floor(q * (n - 1)), the element
+     * DeterSelect.select would return for that k; q = 0 and q = 1 give the exact min and max.
+     * @param q The quantile in [0, 1].
+     * @return The approximate quantile.
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        }
+        if (n == 0) {
+            throw new IllegalStateException("empty sketch");
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int count = 0;
+        for (int h = 0; h < levelCount; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[count] = levels[h][i];
+                weights[count++] = 1L << h;
+            }
+        }
+        MergeSort.sort(values, weights);
+
+        long rank = (long) Math.floor(q * (n - 1));
+        long cumulative = 0;
+        for (int i = 0; i < count; i++) {
+            cumulative += weights[i];
+            if (cumulative > rank) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The number of stream items added (directly or through merge).
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * @return The number of items the sketch currently holds.
+     */
+    public int getRetainedItems() {
+        return retained;
+    }
+
+    /**
+     * Serializes the sketch: a header (magic, k, n, min, max, level count) followed by
+     * the size and the items of every level, 8 bytes per retained item.
+     * @return The serialized sketch.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        buffer.putInt(MAGIC).putInt(k).putLong(n).putDouble(min).putDouble(max).putInt(levelCount);
+        for (int h = 0; h < levelCount; h++) {
+            buffer.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putDouble(levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reads a sketch written by toBytes(). The level count and sizes are checked against the
+     * length of the input, and the level weights against the stream count, before anything
+     * is allocated for them.
+     * @param bytes The serialized sketch.
+     * @return The sketch.
+     * @throws IllegalArgumentException If the bytes are not a valid serialized sketch.
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("not a serialized QuantileSketch");
+        }
+        QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+        long n = buffer.getLong();
+        double min = buffer.getDouble();
+        double max = buffer.getDouble();
+        int levelCount = buffer.getInt();
+        if (n < 0 || levelCount < 1 || levelCount > MAX_LEVELS) {
+            throw new IllegalArgumentException("corrupt QuantileSketch: n " + n + ", " + levelCount + " levels");
+        }
+
+        long weight = 0;
+        for (int h = 0; h < levelCount; h++) {
+            if (buffer.remaining() < 4) {
+                throw new IllegalArgumentException("corrupt QuantileSketch: truncated at level " + h);
+            }
+            int size = buffer.getInt();
+            if (size < 0 || size > buffer.remaining() / Double.BYTES) {
+                throw new IllegalArgumentException("corrupt QuantileSketch: level " + h + " has size " + size);
+            }
+            // Compaction preserves weight, so the levels must add up to n exactly.
+            if (size > (n - weight) >> h) {
+                throw new IllegalArgumentException("corrupt QuantileSketch: level weights exceed n " + n);
+            }
+            weight += (long) size << h;
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, buffer.getDouble());
+            }
+        }
+        if (weight != n || buffer.hasRemaining()) {
+            throw new IllegalArgumentException("corrupt QuantileSketch: level weights " + weight + " != n " + n);
+        }
+        sketch.n = n;
+        sketch.min = min;
+        sketch.max = max;
+        return sketch;
+    }
+
+    /**
+     * @return The length of toBytes() in bytes.
+     */
+    public int serializedSize() {
+        return HEADER_BYTES + 4 * levelCount + Double.BYTES * retained;
+    }
+
+    /**
+     * Appends an item to level h, adding levels and growing the level array as needed.
+     */
+    private void append(int h, double value) {
+        while (h >= levelCount) {
+            if (levelCount == levels.length) {
+                levels = Arrays.copyOf(levels, 2 * levelCount);
+                sizes = Arrays.copyOf(sizes, 2 * levelCount);
+            }
+            levels[levelCount++] = new double[MIN_WIDTH];
+            totalCapacity = 0;
+            for (int level = 0; level < levelCount; level++) {
+                totalCapacity += capacity(level);
+            }
+        }
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], 2 * levels[h].length);
+        }
+        levels[h][sizes[h]++] = value;
+        retained++;
+    }
+
+    /**
+     * Capacity of level h: k for the top level, shrinking by CAPACITY_RATIO per level below.
+     */
+    private int capacity(int h) {
+        int depth = levelCount - 1 - h;
+        return Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)));
+    }
+
+    /**
+     * Compacts the lowest level that has reached its capacity (the top level if none has).
+     * The level is sorted and every other item, starting at a random offset, moves up with
+     * twice the weight; with an odd size the smallest item stays behind, so weight is preserved.
+     */
+    private void compress() {
+        int h = 0;
+        while (h < levelCount - 1 && sizes[h] < capacity(h)) {
+            h++;
+        }
+
+        double[] level = levels[h];
+        int size = sizes[h];
+        QuickSort.sortNoShuffle(level, 0, size);
+
+        int start = size & 1;
+        int offset = rng.nextBoolean() ? 1 : 0;
+        int promoted = (size - start) / 2;
+        sizes[h] = start;
+        retained -= size - start;
+        for (int i = 0; i < promoted; i++) {
+            append(h + 1, level[start + offset + 2 * i]);
+        }
+    }
+
+    /**
+     * Feeds a stream of random values into a sketch and prints a few quantiles.
+     */
+    public static void main(String[] args) {
+        int count = 1_000_000;
+        QuantileSketch sketch = new QuantileSketch();
+        SplittableRandom random = new SplittableRandom(42);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            sketch.add(random.nextDouble());
+        }
+        long endTime = System.nanoTime();
+
+        System.out.println("Items: " + sketch.getN() + ", retained: " + sketch.getRetainedItems()
+                + ", serialized: " + sketch.serializedSize() + " bytes");
+        for (double q : new double[] {0.01, 0.5, 0.99}) {
+            System.out.println("q=" + q + ": " + sketch.quantile(q));
+        }
+        System.out.println("\n--- Performance ---");
+        System.out.println("Execution Time: " + (endTime - startTime) / 1_000_000.0 + " ms");
+    }
+}
@@ -0,0 +1,223 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// Test
+public class QuantileSketchTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999};
+
+    /**
+     * Prints one result in the format of the other test drivers and counts it.
+     */
+    private static void report(String name, long n, boolean passed) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, n);
+        System.out.printf("Correctness Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Largest normalized distance between the rank each quantile asks for and the ranks the
+     * returned value holds in the sorted stream.
+     */
+    private static double maxRankError(QuantileSketch sketch, double[] sorted) {
+        double worst = 0;
+        for (double q : QUANTILES) {
+            double value = sketch.quantile(q);
+            long target = (long) Math.floor(q * (sorted.length - 1));
+            // Ranks [first, last] hold the value; a value not in the stream gets an empty range.
+            int first = lowerBound(sorted, value);
+            int last = lowerBound(sorted, Math.nextUp(value)) - 1;
+            long distance = target < first ? first - target : target > last ? target - last : 0;
+            worst = Math.max(worst, (double) distance / sorted.length);
+        }
+        return worst;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Feeds the stream into one sketch and checks the rank error of the quantiles against
+     * normalizedRankError(), and that the extremes are exact.
+     */
+    private static void runRankErrorTest(String name, double[] stream) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : stream) {
+            sketch.add(value);
+        }
+        double[] sorted = stream.clone();
+        Arrays.sort(sorted);
+
+        double error = maxRankError(sketch, sorted);
+        System.out.printf("  max rank error %.4f%% (bound %.4f%%), retained %d\n",
+                100 * error, 100 * sketch.normalizedRankError(), sketch.getRetainedItems());
+        report("Rank Error: " + name, stream.length, sketch.getN() == stream.length
+                && error <= sketch.normalizedRankError()
+                && sketch.quantile(0) == sorted[0] && sketch.quantile(1) == sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Splits the stream into shards, sketches each and merges them, as separate nodes would.
+     */
+    private static void runMergeTest(String name, double[] stream, int shards) {
+        QuantileSketch merged = new QuantileSketch();
+        int shardSize = (stream.length + shards - 1) / shards;
+        for (int from = 0; from < stream.length; from += shardSize) {
+            QuantileSketch shard = new QuantileSketch();
+            for (int i = from; i < Math.min(stream.length, from + shardSize); i++) {
+                shard.add(stream[i]);
+            }
+            merged.merge(shard);
+        }
+        double[] sorted = stream.clone();
+        Arrays.sort(sorted);
+
+        double error = maxRankError(merged, sorted);
+        System.out.printf("  max rank error %.4f%% (bound %.4f%%)\n", 100 * error, 100 * merged.normalizedRankError());
+        report("Merge of " + shards + " Shards: " + name, stream.length,
+                merged.getN() == stream.length && error <= merged.normalizedRankError());
+    }
+
+    /**
+     * Merges a sketch into itself: this must terminate and count every item twice, which
+     * leaves the quantiles of the doubled stream where they were.
+     */
+    private static void runSelfMergeTest(double[] stream) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : stream) {
+            sketch.add(value);
+        }
+        sketch.merge(sketch);
+
+        double[] doubled = Arrays.copyOf(stream, 2 * stream.length);
+        System.arraycopy(stream, 0, doubled, stream.length, stream.length);
+        Arrays.sort(doubled);
+        double error = maxRankError(sketch, doubled);
+        report("Self Merge", stream.length, sketch.getN() == 2L * stream.length && error <= sketch.normalizedRankError());
+    }
+
+    /**
+     * Checks that fromBytes(toBytes()) gives a sketch with the same state, bytes and quantiles.
+     */
+    private static void runRoundTripTest(String name, QuantileSketch sketch) {
+        byte[] bytes = sketch.toBytes();
+        QuantileSketch copy = QuantileSketch.fromBytes(bytes);
+        boolean passed = bytes.length == sketch.serializedSize()
+                && Arrays.equals(copy.toBytes(), bytes)
+                && copy.getN() == sketch.getN()
+                && copy.getRetainedItems() == sketch.getRetainedItems();
+        for (int i = 0; passed && sketch.getN() > 0 && i < QUANTILES.length; i++) {
+            passed = Double.compare(copy.quantile(QUANTILES[i]), sketch.quantile(QUANTILES[i])) == 0;
+        }
+        report("Serialization Round Trip: " + name, sketch.getN(), passed);
+    }
+
+    /**
+     * Checks that fromBytes rejects the bytes with an IllegalArgumentException.
+     */
+    private static void runCorruptBytesTest(String name, byte[] bytes) {
+        boolean passed;
+        try {
+            QuantileSketch.fromBytes(bytes);
+            passed = false;
+        } catch (IllegalArgumentException e) {
+            passed = true;
+        }
+        report("Corrupt Bytes Rejected: " + name, bytes.length, passed);
+    }
+
+    private static double[] uniform(int n) {
+        double[] stream = new double[n];
+        for (int i = 0; i < n; i++) {
+            stream[i] = RANDOM.nextDouble();
+        }
+        return stream;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- QuantileSketch Tests ---");
+        int n = 1_000_000;
+
+        // 1. Rank error within normalizedRankError() for k = DEFAULT_K
+        double[] random = uniform(n);
+        runRankErrorTest("Uniform", random);
+        double[] sortedStream = uniform(n);
+        Arrays.sort(sortedStream);
+        runRankErrorTest("Sorted", sortedStream);
+        double[] fewUnique = new double[n];
+        for (int i = 0; i < n; i++) {
+            fewUnique[i] = RANDOM.nextInt(10);
+        }
+        runRankErrorTest("Few Unique", fewUnique);
+        double[] skewed = new double[n];
+        for (int i = 0; i < n; i++) {
+            skewed[i] = Math.exp(RANDOM.nextGaussian() * 3);
+        }
+        runRankErrorTest("Log-normal", skewed);
+
+        // 2. Merging shards, and a sketch into itself
+        runMergeTest("Uniform", random, 8);
+        runMergeTest("Sorted", sortedStream, 3);
+        runSelfMergeTest(uniform(100_000));
+
+        // 3. Serialization
+        runRoundTripTest("Empty", new QuantileSketch());
+        QuantileSketch small = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(1));
+        for (int i = 0; i < 50; i++) {
+            small.add(RANDOM.nextDouble());
+        }
+        runRoundTripTest("Single Level", small);
+        QuantileSketch large = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(2));
+        for (double value : random) {
+            large.add(value);
+        }
+        runRoundTripTest("Many Levels", large);
+
+        // 4. Corrupt input: header fields at offsets magic 0, k 4, n 8, min 16, max 24, level count 32
+        byte[] valid = large.toBytes();
+        runCorruptBytesTest("Empty", new byte[0]);
+        runCorruptBytesTest("Truncated", Arrays.copyOf(valid, valid.length - 1));
+        runCorruptBytesTest("Trailing Bytes", Arrays.copyOf(valid, valid.length + 8));
+        byte[] badMagic = valid.clone();
+        badMagic[0] ^= 1;
+        runCorruptBytesTest("Bad Magic", badMagic);
+        runCorruptBytesTest("Zero Levels", patchInt(valid, 32, 0));
+        runCorruptBytesTest("Negative Level Count", patchInt(valid, 32, -1));
+        runCorruptBytesTest("Huge Level Count", patchInt(valid, 32, Integer.MAX_VALUE));
+        runCorruptBytesTest("Negative Level Size", patchInt(valid, 36, -1));
+        runCorruptBytesTest("Huge Level Size", patchInt(valid, 36, Integer.MAX_VALUE));
+        runCorruptBytesTest("Weights Not Matching n", ByteBuffer.wrap(valid.clone()).putLong(8, large.getN() + 1).array());
+        runCorruptBytesTest("Negative n", ByteBuffer.wrap(valid.clone()).putLong(8, -1).array());
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: QuantileSketch stays within its rank error bound and round-trips through bytes.");
+        }
+    }
+
+    private static byte[] patchInt(byte[] bytes, int offset, int value) {
+        return ByteBuffer.wrap(bytes.clone()).putInt(offset, value).array();
+    }
+}
@@ -1,5 +1,7 @@
 import java.util.Arrays;
-import java.util.Random;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 
 
@@ -7,55 +9,234 @@ import java.util.Random;
 
 public class QuickSort {
 
-    private static final Random RANDOM = new Random();
+    private static final int CUTOFF = 1;
 
+    // ranges larger than this use a ninther (median of three medians-of-3) pivot in the no-shuffle mode.
+    private static final int NINTHER_THRESHOLD = 40;
 
-    private static final int CUTOFF = 1;
+    // default size below which the introsort mode switches to insertion sort.
+    private static final int INSERTION_CUTOFF = 16;
+
+    // metrics of the calling thread's last sort: the recursion returns its counts and only the
+    // totals are stored here, so concurrent sorters never share a counter.
+    private static final class Metrics {
+        // number of times the introsort mode fell back to heapsort during the last sortIntro call.
+        int heapsortFallbacks;
+        // maximum recursion depth reached by the last sort on the default (LOMUTO) path.
+        int maxRecursionDepth;
+    }
+
+    private static final ThreadLocal<Metrics> METRICS = ThreadLocal.withInitial(Metrics::new);
+
+    /**
+     partitioning schemes supported by sort(arr, scheme).
+     LOMUTO is the original two-way scheme; THREE_WAY and DUAL_PIVOT keep
+     runs of equal keys out of the recursion.
+     */
+    public enum Partitioning {
+        LOMUTO,
+        THREE_WAY,
+        DUAL_PIVOT
+    }
 
     public static void sort(double[] arr) {
 
-        shuffle(arr);
-        quickSort(arr, 0, arr.length - 1);
+        sort(arr, Partitioning.LOMUTO);
+    }
+
+    public static void sort(double[] arr, Partitioning scheme) {
+
+        sort(arr, scheme, ThreadLocalRandom.current());
+    }
+
+    /**
+     sorts with the given random generator for the shuffle and the pivots.
+     passing a seeded generator (e.g. new SplittableRandom(seed)) makes runs reproducible;
+     the default is the calling thread's ThreadLocalRandom, so concurrent sorters never
+     contend on a shared seed.
+     */
+    public static void sort(double[] arr, Partitioning scheme, RandomGenerator rng) {
+
+        sort(arr, 0, arr.length, scheme, rng);
+    }
+
+    /**
+     sorts arr[from..to) only; the shuffle and every swap stay inside the range.
+     */
+    public static void sort(double[] arr, int from, int to) {
+
+        sort(arr, from, to, Partitioning.LOMUTO, ThreadLocalRandom.current());
+    }
+
+    public static void sort(double[] arr, int from, int to, Partitioning scheme, RandomGenerator rng) {
+
+        Objects.checkFromToIndex(from, to, arr.length);
+        shuffle(arr, from, to, rng);
+        switch (scheme) {
+            case THREE_WAY:
+                quickSort3Way(arr, from, to - 1, rng);
+                break;
+            case DUAL_PIVOT:
+                dualPivotQuickSort(arr, from, to - 1, rng);
+                break;
+            default:
+                METRICS.get().maxRecursionDepth = quickSort(arr, from, to - 1, rng, 0);
+        }
+    }
+
+    /**
+     skips the O(n) shuffle pass and uses no random numbers at all: three-way partitioning
+     around a median-of-3 pivot, or a ninther pivot for ranges above NINTHER_THRESHOLD.
+     sorted, reverse-sorted and duplicate-heavy inputs stay O(n log n).
+     */
+    public static void sortNoShuffle(double[] arr) {
+
+        sortNoShuffle(arr, 0, arr.length);
+    }
+
+    public static void sortNoShuffle(double[] arr, int from, int to) {
+
+        Objects.checkFromToIndex(from, to, arr.length);
+        quickSort3Way(arr, from, to - 1, null);
+    }
+
+
+    /**
+     introspective sort: three-way quicksort on a median-of-3 random pivot that switches to
+     heapsort once the partition depth passes 2 * log2(n), and finishes small ranges with
+     insertion sort.
+     This gives an O(n log n) worst case without the O(n) shuffle pass.
+     */
+    public static void sortIntro(double[] arr) {
+
+        sortIntro(arr, INSERTION_CUTOFF);
+    }
+
+    public static void sortIntro(double[] arr, int insertionThreshold) {
+
+        sortIntro(arr, insertionThreshold, ThreadLocalRandom.current());
     }
 
+    public static void sortIntro(double[] arr, int insertionThreshold, RandomGenerator rng) {
 
-    private static void shuffle(double[] arr) {
-        for (int i = 0; i < arr.length; i++) {
-            int r = RANDOM.nextInt(i + 1);
+        sortIntro(arr, 0, arr.length, insertionThreshold, rng);
+    }
+
+    public static void sortIntro(double[] arr, int from, int to, int insertionThreshold, RandomGenerator rng) {
+
+        Objects.checkFromToIndex(from, to, arr.length);
+        int depthLimit = 2 * log2(to - from);
+        METRICS.get().heapsortFallbacks = introSort(arr, from, to - 1, depthLimit, Math.max(1, insertionThreshold), rng);
+    }
+
+    /**
+     sorter views for AdaptiveSorter. sorter(threshold) is the introsort mode with a tuned
+     insertion-sort threshold; threeWaySorter() is the no-shuffle three-way mode, which
+     does the least work on duplicate-heavy input. neither keeps state between calls.
+     */
+    public static Sorter sorter(int insertionThreshold) {
+
+        if (insertionThreshold < 1) {
+            throw new IllegalArgumentException("insertion threshold must be positive: " + insertionThreshold);
+        }
+        return new Sorter() {
+            @Override
+            public void sort(double[] arr, int from, int to) {
+                sortIntro(arr, from, to, insertionThreshold, ThreadLocalRandom.current());
+            }
+
+            @Override
+            public String name() {
+                return "QuickSort.intro(threshold=" + insertionThreshold + ")";
+            }
+        };
+    }
+
+    public static Sorter threeWaySorter() {
+
+        return new Sorter() {
+            @Override
+            public void sort(double[] arr, int from, int to) {
+                sortNoShuffle(arr, from, to);
+            }
+
+            @Override
+            public String name() {
+                return "QuickSort.threeWay";
+            }
+        };
+    }
+
+    /**
+     indirect (argsort) mode: returns a permutation idx with keys[idx[0]] <= keys[idx[1]] <= ...
+     keys is not modified. a copy of the keys is sorted with three-way partitioning and random
+     pivots while idx is swapped along, so there is no shuffle pass. not stable; use
+     MergeSort.argsort when equal keys must keep their order.
+     */
+    public static int[] argsort(double[] keys) {
+
+        double[] copy = keys.clone();
+        int[] idx = new int[keys.length];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = i;
+        }
+        quickSort3WayIndexed(copy, idx, 0, copy.length - 1, ThreadLocalRandom.current());
+        return idx;
+    }
+
+    /**
+     metrics of the calling thread's last sortIntro / default-scheme sort.
+     */
+    public static int getHeapsortFallbacks() {
+        return METRICS.get().heapsortFallbacks;
+    }
+
+    public static int getMaxRecursionDepth() {
+        return METRICS.get().maxRecursionDepth;
+    }
+
+
+    private static void shuffle(double[] arr, int from, int to, RandomGenerator rng) {
+        for (int i = from; i < to; i++) {
+            int r = from + rng.nextInt(i - from + 1);
             swap(arr, i, r);
         }
     }
 
 
-    private static void quickSort(double[] arr, int low, int high) {
+    // returns the maximum recursion depth reached below this call.
+    private static int quickSort(double[] arr, int low, int high, RandomGenerator rng, int currentDepth) {
+
+        int maxDepth = currentDepth;
 
         while (low < high) {
 
             if (high - low < CUTOFF) {
 
-                return;
+                return maxDepth;
             }
 
 
-            int pivotIndex = partition(arr, low, high);
+            int pivotIndex = partition(arr, low, high, rng);
 
 
             if (pivotIndex - low < high - pivotIndex) {
 
-                quickSort(arr, low, pivotIndex - 1);
+                maxDepth = Math.max(maxDepth, quickSort(arr, low, pivotIndex - 1, rng, currentDepth + 1));
                 low = pivotIndex + 1;
             } else {
 
-                quickSort(arr, pivotIndex + 1, high);
+                maxDepth = Math.max(maxDepth, quickSort(arr, pivotIndex + 1, high, rng, currentDepth + 1));
                 high = pivotIndex - 1; // Tail call eliminated by setting new high index.
             }
         }
+        return maxDepth;
     }
 
 
-    private static int partition(double[] arr, int low, int high) {
+    private static int partition(double[] arr, int low, int high, RandomGenerator rng) {
 
-        int randomPivotIndex = low + RANDOM.nextInt(high - low + 1);
+        int randomPivotIndex = low + rng.nextInt(high - low + 1);
         swap(arr, randomPivotIndex, high);
 
         double pivot = arr[high];
@@ -75,6 +256,281 @@ public class QuickSort {
         return i;
     }
 
+    /**
+     three-way (Dutch flag) quicksort: keys equal to the pivot are gathered in the
+     middle and never recursed into, so all-equal input finishes in one pass.
+     */
+    private static void quickSort3Way(double[] arr, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            if (high - low < CUTOFF) {
+
+                return;
+            }
+
+            double pivot = arr[rng != null ? low + rng.nextInt(high - low + 1) : medianPivotIndex(arr, low, high)];
+
+            // invariant: arr[low..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..high] > pivot
+            int lt = low;
+            int gt = high;
+            int i = low;
+
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                quickSort3Way(arr, low, lt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                quickSort3Way(arr, gt + 1, high, rng);
+                high = lt - 1;
+            }
+        }
+    }
+
+    /**
+     quickSort3Way on keys with every swap mirrored in idx.
+     */
+    private static void quickSort3WayIndexed(double[] keys, int[] idx, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            double pivot = keys[low + rng.nextInt(high - low + 1)];
+
+            int lt = low;
+            int gt = high;
+            int i = low;
+
+            while (i <= gt) {
+                if (keys[i] < pivot) {
+                    swap(keys, idx, lt++, i++);
+                } else if (keys[i] > pivot) {
+                    swap(keys, idx, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                quickSort3WayIndexed(keys, idx, low, lt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                quickSort3WayIndexed(keys, idx, gt + 1, high, rng);
+                high = lt - 1;
+            }
+        }
+    }
+
+    /**
+     dual-pivot quicksort (Yaroslavskiy): two random pivots p1 <= p2 split the range
+     into < p1, p1..p2 and > p2. The two smaller parts are recursed into and the
+     largest one is iterated, which keeps the depth at O(log n). When p1 == p2 the
+     middle part holds only copies of the pivot and is skipped.
+     */
+    private static void dualPivotQuickSort(double[] arr, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            if (high - low < CUTOFF) {
+
+                return;
+            }
+
+            swap(arr, low, low + rng.nextInt(high - low + 1));
+            swap(arr, high, low + 1 + rng.nextInt(high - low));
+            if (arr[low] > arr[high]) {
+                swap(arr, low, high);
+            }
+
+            double p1 = arr[low];
+            double p2 = arr[high];
+
+            // invariant: arr[low+1..lt-1] < p1, arr[lt..i-1] in [p1, p2], arr[gt+1..high-1] > p2
+            int lt = low + 1;
+            int gt = high - 1;
+            int i = low + 1;
+
+            while (i <= gt) {
+                if (arr[i] < p1) {
+                    swap(arr, i++, lt++);
+                } else if (arr[i] > p2) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            swap(arr, low, --lt);
+            swap(arr, high, ++gt);
+
+            // three parts: [low, lt-1], [lt+1, gt-1], [gt+1, high]
+            int leftSize = lt - low;
+            int middleSize = p1 == p2 ? 0 : gt - lt - 1;
+            int rightSize = high - gt;
+
+            if (leftSize >= middleSize && leftSize >= rightSize) {
+
+                if (middleSize > 0) dualPivotQuickSort(arr, lt + 1, gt - 1, rng);
+                dualPivotQuickSort(arr, gt + 1, high, rng);
+                high = lt - 1;
+            } else if (rightSize >= middleSize) {
+
+                dualPivotQuickSort(arr, low, lt - 1, rng);
+                if (middleSize > 0) dualPivotQuickSort(arr, lt + 1, gt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                dualPivotQuickSort(arr, low, lt - 1, rng);
+                dualPivotQuickSort(arr, gt + 1, high, rng);
+                low = lt + 1;
+                high = gt - 1;
+            }
+        }
+    }
+
+    // returns the number of heapsort fallbacks taken below this call.
+    private static int introSort(double[] arr, int low, int high, int depthLimit, int threshold, RandomGenerator rng) {
+
+        int fallbacks = 0;
+        while (high - low + 1 > threshold) {
+
+            if (depthLimit == 0) {
+
+                heapSort(arr, low, high);
+                return fallbacks + 1;
+            }
+            depthLimit--;
+
+            // median of three random samples: on random input this keeps the partition depth well
+            // below 2 * log2(n), so heapsort is only reached by adversarial inputs (or generators).
+            int n = high - low + 1;
+            int pivotIndex = medianOf3(arr, low + rng.nextInt(n), low + rng.nextInt(n), low + rng.nextInt(n));
+            double pivot = arr[pivotIndex];
+
+            // three-way partition, as in quickSort3Way, so runs of equal keys are never recursed into.
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                fallbacks += introSort(arr, low, lt - 1, depthLimit, threshold, rng);
+                low = gt + 1;
+            } else {
+
+                fallbacks += introSort(arr, gt + 1, high, depthLimit, threshold, rng);
+                high = lt - 1;
+            }
+        }
+
+        insertionSort(arr, low, high);
+        return fallbacks;
+    }
+
+
+    private static void insertionSort(double[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            double key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     in-place heapsort of arr[low..high], used as the introsort fallback.
+     */
+    private static void heapSort(double[] arr, int low, int high) {
+        int n = high - low + 1;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+
+    private static void siftDown(double[] arr, int offset, int i, int n) {
+        double value = arr[offset + i];
+
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) {
+                break;
+            }
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+
+        arr[offset + i] = value;
+    }
+
+
+    /**
+     index of a median-of-3 pivot (first, middle, last), or of the ninther
+     (median of three medians-of-3 spread over the range) for large ranges.
+     */
+    private static int medianPivotIndex(double[] arr, int low, int high) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low + 1 <= NINTHER_THRESHOLD) {
+            return medianOf3(arr, low, mid, high);
+        }
+
+        int step = (high - low + 1) / 8;
+        int a = medianOf3(arr, low, low + step, low + 2 * step);
+        int b = medianOf3(arr, mid - step, mid, mid + step);
+        int c = medianOf3(arr, high - 2 * step, high - step, high);
+        return medianOf3(arr, a, b, c);
+    }
+
+
+    private static int medianOf3(double[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            return arr[j] < arr[k] ? j : (arr[i] < arr[k] ? k : i);
+        }
+        return arr[k] < arr[j] ? j : (arr[k] < arr[i] ? k : i);
+    }
+
+
+    private static int log2(int n) {
+        return n <= 1 ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+    }
+
     /**
      swap two elements in an array.
      */
@@ -84,6 +540,309 @@ public class QuickSort {
         arr[j] = temp;
     }
 
+    /**
+     swap two keys and their indices.
+     */
+    private static void swap(double[] keys, int[] idx, int i, int j) {
+        swap(keys, i, j);
+        int temp = idx[i];
+        idx[i] = idx[j];
+        idx[j] = temp;
+    }
+
+    /**
+     sorts int[] keys without widening them to double: the same shuffle and three-way
+     partitioning around random pivots as sort(double[], Partitioning.THREE_WAY).
+     */
+    public static void sort(int[] arr) {
+
+        sort(arr, ThreadLocalRandom.current());
+    }
+
+    public static void sort(int[] arr, RandomGenerator rng) {
+
+        shuffle(arr, rng);
+        quickSort3Way(arr, 0, arr.length - 1, rng);
+    }
+
+    /**
+     sortNoShuffle for int[] keys: the same three-way partitioning around a median-of-3 or
+     ninther pivot as sortNoShuffle(double[]).
+     */
+    public static void sortNoShuffle(int[] arr) {
+
+        quickSort3Way(arr, 0, arr.length - 1, null);
+    }
+
+    private static void shuffle(int[] arr, RandomGenerator rng) {
+        for (int i = 1; i < arr.length; i++) {
+            swap(arr, i, rng.nextInt(i + 1));
+        }
+    }
+
+    // rng == null picks median-of-3 / ninther pivots, as in the double[] version.
+    private static void quickSort3Way(int[] arr, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            if (high - low < CUTOFF) {
+
+                return;
+            }
+
+            int pivot = arr[rng != null ? low + rng.nextInt(high - low + 1) : medianPivotIndex(arr, low, high)];
+
+            // invariant: arr[low..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..high] > pivot
+            int lt = low;
+            int gt = high;
+            int i = low;
+
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                quickSort3Way(arr, low, lt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                quickSort3Way(arr, gt + 1, high, rng);
+                high = lt - 1;
+            }
+        }
+    }
+
+    private static int medianPivotIndex(int[] arr, int low, int high) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low + 1 <= NINTHER_THRESHOLD) {
+            return medianOf3(arr, low, mid, high);
+        }
+
+        int step = (high - low + 1) / 8;
+        int a = medianOf3(arr, low, low + step, low + 2 * step);
+        int b = medianOf3(arr, mid - step, mid, mid + step);
+        int c = medianOf3(arr, high - 2 * step, high - step, high);
+        return medianOf3(arr, a, b, c);
+    }
+
+    private static int medianOf3(int[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            return arr[j] < arr[k] ? j : (arr[i] < arr[k] ? k : i);
+        }
+        return arr[k] < arr[j] ? j : (arr[k] < arr[i] ? k : i);
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     sorts long[] keys without widening them to double: the same shuffle and three-way
+     partitioning around random pivots as sort(double[], Partitioning.THREE_WAY).
+     */
+    public static void sort(long[] arr) {
+
+        sort(arr, ThreadLocalRandom.current());
+    }
+
+    public static void sort(long[] arr, RandomGenerator rng) {
+
+        shuffle(arr, rng);
+        quickSort3Way(arr, 0, arr.length - 1, rng);
+    }
+
+    /**
+     sortNoShuffle for long[] keys: the same three-way partitioning around a median-of-3 or
+     ninther pivot as sortNoShuffle(double[]).
+     */
+    public static void sortNoShuffle(long[] arr) {
+
+        quickSort3Way(arr, 0, arr.length - 1, null);
+    }
+
+    private static void shuffle(long[] arr, RandomGenerator rng) {
+        for (int i = 1; i < arr.length; i++) {
+            swap(arr, i, rng.nextInt(i + 1));
+        }
+    }
+
+    // rng == null picks median-of-3 / ninther pivots, as in the double[] version.
+    private static void quickSort3Way(long[] arr, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            if (high - low < CUTOFF) {
+
+                return;
+            }
+
+            long pivot = arr[rng != null ? low + rng.nextInt(high - low + 1) : medianPivotIndex(arr, low, high)];
+
+            // invariant: arr[low..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..high] > pivot
+            int lt = low;
+            int gt = high;
+            int i = low;
+
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                quickSort3Way(arr, low, lt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                quickSort3Way(arr, gt + 1, high, rng);
+                high = lt - 1;
+            }
+        }
+    }
+
+    private static int medianPivotIndex(long[] arr, int low, int high) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low + 1 <= NINTHER_THRESHOLD) {
+            return medianOf3(arr, low, mid, high);
+        }
+
+        int step = (high - low + 1) / 8;
+        int a = medianOf3(arr, low, low + step, low + 2 * step);
+        int b = medianOf3(arr, mid - step, mid, mid + step);
+        int c = medianOf3(arr, high - 2 * step, high - step, high);
+        return medianOf3(arr, a, b, c);
+    }
+
+    private static int medianOf3(long[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            return arr[j] < arr[k] ? j : (arr[i] < arr[k] ? k : i);
+        }
+        return arr[k] < arr[j] ? j : (arr[k] < arr[i] ? k : i);
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     sorts float[] keys without widening them to double: the same shuffle and three-way
+     partitioning around random pivots as sort(double[], Partitioning.THREE_WAY).
+     keys are ordered by Float.compare (-0.0f before 0.0f, NaN last), as by Arrays.sort(float[]).
+     */
+    public static void sort(float[] arr) {
+
+        sort(arr, ThreadLocalRandom.current());
+    }
+
+    public static void sort(float[] arr, RandomGenerator rng) {
+
+        shuffle(arr, rng);
+        quickSort3Way(arr, 0, arr.length - 1, rng);
+    }
+
+    /**
+     sortNoShuffle for float[] keys: the same three-way partitioning around a median-of-3 or
+     ninther pivot as sortNoShuffle(double[]).
+     */
+    public static void sortNoShuffle(float[] arr) {
+
+        quickSort3Way(arr, 0, arr.length - 1, null);
+    }
+
+    private static void shuffle(float[] arr, RandomGenerator rng) {
+        for (int i = 1; i < arr.length; i++) {
+            swap(arr, i, rng.nextInt(i + 1));
+        }
+    }
+
+    // rng == null picks median-of-3 / ninther pivots, as in the double[] version.
+    private static void quickSort3Way(float[] arr, int low, int high, RandomGenerator rng) {
+
+        while (low < high) {
+
+            if (high - low < CUTOFF) {
+
+                return;
+            }
+
+            float pivot = arr[rng != null ? low + rng.nextInt(high - low + 1) : medianPivotIndex(arr, low, high)];
+
+            // invariant: arr[low..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..high] > pivot
+            int lt = low;
+            int gt = high;
+            int i = low;
+
+            while (i <= gt) {
+                int order = Float.compare(arr[i], pivot);
+                if (order < 0) {
+                    swap(arr, lt++, i++);
+                } else if (order > 0) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+
+            if (lt - low < high - gt) {
+
+                quickSort3Way(arr, low, lt - 1, rng);
+                low = gt + 1;
+            } else {
+
+                quickSort3Way(arr, gt + 1, high, rng);
+                high = lt - 1;
+            }
+        }
+    }
+
+    private static int medianPivotIndex(float[] arr, int low, int high) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low + 1 <= NINTHER_THRESHOLD) {
+            return medianOf3(arr, low, mid, high);
+        }
+
+        int step = (high - low + 1) / 8;
+        int a = medianOf3(arr, low, low + step, low + 2 * step);
+        int b = medianOf3(arr, mid - step, mid, mid + step);
+        int c = medianOf3(arr, high - 2 * step, high - step, high);
+        return medianOf3(arr, a, b, c);
+    }
+
+    private static int medianOf3(float[] arr, int i, int j, int k) {
+        if (Float.compare(arr[i], arr[j]) < 0) {
+            return Float.compare(arr[j], arr[k]) < 0 ? j : (Float.compare(arr[i], arr[k]) < 0 ? k : i);
+        }
+        return Float.compare(arr[k], arr[j]) < 0 ? j : (Float.compare(arr[k], arr[i]) < 0 ? k : i);
+    }
+
+    private static void swap(float[] arr, int i, int j) {
+        float temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
     public static void main(String[] args) {
         double[] testArray = {80.5, 64.1, 65.3, 70.0, 50.9, 30.2, 99.8, 12.3, 45.6, 88.7};
 
@@ -96,5 +855,10 @@ public class QuickSort {
         System.out.println("Sorted Array:   " + Arrays.toString(testArray));
         System.out.println("\n--- Performance ---");
         System.out.println("Execution Time: " + (endTime - startTime) / 1_000_000.0 + " ms");
+
+        double[] equalKeys = new double[10000];
+        Arrays.fill(equalKeys, 1.0);
+        sortIntro(equalKeys);
+        System.out.println("Introsort Heapsort Fallbacks (all-equal, N=10000): " + getHeapsortFallbacks());
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for the QuickSort partitioning schemes and random generator modes.
+ * Usage: java QuickSortBenchmark [n]
+ */
+public class QuickSortBenchmark {
+
+    // Thread counts used for the concurrent throughput table.
+    private static final int[] THREADS = {1, 2, 4, 8};
+    // Array length and sorts per thread for the throughput table.
+    private static final int THROUGHPUT_N = 100_000;
+    private static final int SORTS_PER_THREAD = 50;
+
+    /**
+     * Compares the Lomuto, three-way and dual-pivot schemes on every input distribution.
+     * Lomuto degrades to quadratic time on all-equal input, so keep n moderate.
+     * @param n The array length.
+     */
+    static void partitioningSchemes(int n) {
+        System.out.println("--- QuickSort Partitioning Schemes (N=" + n + ") ---");
+        System.out.printf("%-12s", "input");
+        for (QuickSort.Partitioning scheme : QuickSort.Partitioning.values()) {
+            System.out.printf(" %14s", scheme + " (ms)");
+        }
+        System.out.println();
+
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            System.out.printf("%-12s", distribution);
+            for (QuickSort.Partitioning scheme : QuickSort.Partitioning.values()) {
+                long nanos = BenchmarkSupport.medianNanos(input, arr -> QuickSort.sort(arr, scheme));
+                System.out.printf(" %14.2f", nanos / 1_000_000.0);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Measures sorts per second with several threads sorting independent arrays at once.
+     * "shared Random" reproduces the old single static generator; "default" uses the
+     * per-thread ThreadLocalRandom; "no shuffle" uses ninther pivots and no generator.
+     */
+    static void concurrentThroughput() throws Exception {
+        Random shared = new Random();
+        String[] names = {"shared Random", "default", "no shuffle"};
+        List<Consumer<double[]>> modes = List.of(
+                arr -> QuickSort.sort(arr, QuickSort.Partitioning.LOMUTO, shared),
+                QuickSort::sort,
+                QuickSort::sortNoShuffle);
+
+        System.out.println("--- Concurrent QuickSort Throughput (N=" + THROUGHPUT_N + ", sorts/s) ---");
+        System.out.printf("%-14s", "mode");
+        for (int threads : THREADS) {
+            System.out.printf(" %10s", threads + " thr");
+        }
+        System.out.println();
+
+        for (int m = 0; m < modes.size(); m++) {
+            System.out.printf("%-14s", names[m]);
+            for (int threads : THREADS) {
+                runConcurrent(modes.get(m), threads); // warm-up
+                long nanos = runConcurrent(modes.get(m), threads);
+                double sortsPerSecond = (double) threads * SORTS_PER_THREAD / (nanos / 1e9);
+                System.out.printf(" %10.1f", sortsPerSecond);
+            }
+            System.out.println();
+        }
+    }
+
+    private static long runConcurrent(Consumer<double[]> mode, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Inputs are generated before the clock starts; only the sorts are timed.
+            double[][] inputs = new double[threads][];
+            for (int t = 0; t < threads; t++) {
+                inputs[t] = BenchmarkSupport.randomArray(THROUGHPUT_N, t);
+            }
+            Future<?>[] futures = new Future<?>[threads];
+            long startTime = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                double[] input = inputs[t];
+                futures[t] = executor.submit(() -> {
+                    double[] work = new double[input.length];
+                    for (int r = 0; r < SORTS_PER_THREAD; r++) {
+                        System.arraycopy(input, 0, work, 0, input.length);
+                        mode.accept(work);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        partitioningSchemes(n);
+        concurrentThroughput();
+    }
+}
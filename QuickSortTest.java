@@ -1,85 +1,7 @@
 import java.util.Arrays;
 import java.util.Random;
-
-/**
- * --- QuickSort Class **/
-
-class QuickSort {
-
-    private static final Random RANDOM = new Random();
-    private static final int CUTOFF = 1;
-
-    // --- METRIC: Made public static for external testing access ---
-    public static int maxRecursionDepth = 0;
-
-    public static void sort(double[] arr) {
-        maxRecursionDepth = 0; // Reset counter for each sort
-        shuffle(arr);
-        quickSort(arr, 0, arr.length - 1, 0); // Start depth tracking at 0
-    }
-
-    private static void shuffle(double[] arr) {
-        for (int i = 0; i < arr.length; i++) {
-            int r = RANDOM.nextInt(i + 1);
-            swap(arr, i, r);
-        }
-    }
-
-    // MODIFIED quickSort to track depth
-    private static void quickSort(double[] arr, int low, int high, int currentDepth) {
-        // Update max depth
-        if (currentDepth > maxRecursionDepth) {
-            maxRecursionDepth = currentDepth;
-        }
-
-       
-        while (low < high) {
-            if (high - low < CUTOFF) {
-                return;
-            }
-
-            int pivotIndex = partition(arr, low, high);
-
-            // Recurse on the smaller partition, iterate on the larger one
-            if (pivotIndex - low < high - pivotIndex) {
-                // Recurse Left (smaller)
-                quickSort(arr, low, pivotIndex - 1, currentDepth + 1);
-                low = pivotIndex + 1; // Iterate Right (larger)
-            } else {
-                // Recurse Right (smaller)
-                quickSort(arr, pivotIndex + 1, high, currentDepth + 1);
-                high = pivotIndex - 1; // Iterate Left (larger)
-            }
-        }
-    }
-
-    private static int partition(double[] arr, int low, int high) {
-        int randomPivotIndex = low + RANDOM.nextInt(high - low + 1);
-        swap(arr, randomPivotIndex, high);
-
-        double pivot = arr[high];
-        int i = low;
-
-        for (int j = low; j < high; j++) {
-            if (arr[j] <= pivot) {
-                swap(arr, i, j);
-                i++;
-            }
-        }
-
-        swap(arr, i, high);
-        return i;
-    }
-
-    // Utility method to swap two elements in an array.
-     
-    private static void swap(double[] arr, int i, int j) {
-        double temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
-    }
-}
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 // Test
 public class QuickSortTest {
@@ -88,6 +10,9 @@ public class QuickSortTest {
     private static int totalTests = 0;
     private static int failedTests = 0;
 
+    // Insertion-sort threshold passed to the introsort mode (its default).
+    private static final int INSERTION_THRESHOLD = 16;
+
     /**
      * Generates a worst-case array (already sorted/reverse sorted).
      */
@@ -120,7 +45,7 @@ public class QuickSortTest {
 
         // --- Execution ---
         QuickSort.sort(input);
-        int maxDepth = QuickSort.maxRecursionDepth;
+        int maxDepth = QuickSort.getMaxRecursionDepth();
 
         // --- Verification ---
         boolean correctnessPassed = isSorted(input);
@@ -149,6 +74,60 @@ public class QuickSortTest {
         }
     }
 
+    /**
+     * Runs the production introsort mode with the given generator, verifies correctness against
+     * Arrays.sort, and checks whether heapsort had to take over.
+     */
+    private static void runIntroTest(String name, double[] input, RandomGenerator rng, boolean expectFallback) {
+        totalTests++;
+        int N = input.length;
+        double[] expected = Arrays.copyOf(input, N);
+        Arrays.sort(expected);
+
+        QuickSort.sortIntro(input, INSERTION_THRESHOLD, rng);
+        int fallbacks = QuickSort.getHeapsortFallbacks();
+
+        boolean correctnessPassed = Arrays.equals(input, expected);
+        boolean fallbackPassed = expectFallback ? fallbacks > 0 : fallbacks == 0;
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, N);
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+        System.out.printf("  Heapsort Fallbacks: %d %s\n", fallbacks,
+                fallbackPassed ? "PASSED" : expectFallback ? "FAILED (expected at least one)" : "FAILED (expected none)");
+
+        if (!correctnessPassed || !fallbackPassed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Sorts a copy of the input with the given partitioning scheme (on the range [from, to)) and
+     * verifies it against Arrays.sort of the same range, so elements outside it must not move.
+     */
+    private static void runSchemeTest(String name, double[] input, int from, int to, QuickSort.Partitioning scheme) {
+        totalTests++;
+        int N = input.length;
+        double[] expected = Arrays.copyOf(input, N);
+        Arrays.sort(expected, from, to);
+
+        double[] arr = Arrays.copyOf(input, N);
+        if (from == 0 && to == N) {
+            QuickSort.sort(arr, scheme);
+        } else {
+            QuickSort.sort(arr, from, to, scheme, ThreadLocalRandom.current());
+        }
+        boolean correctnessPassed = Arrays.equals(arr, expected);
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s %s (N=%d, range=[%d, %d))\n", scheme, name, N, from, to);
+        System.out.printf("Correctness Check: %s\n", correctnessPassed ? "PASSED" : "FAILED");
+
+        if (!correctnessPassed) {
+            failedTests++;
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("--- QuickSort Robustness Tests ---");
 
@@ -168,6 +147,48 @@ public class QuickSortTest {
         for (int i = 0; i < randomArray.length; i++) randomArray[i] = RANDOM.nextDouble() * 10000;
         runDepthTest("Average Case: Large Random Array", randomArray, BOUND_FACTOR);
 
+        // 4. Introsort: three-way partitioning finishes all-equal keys in one pass
+        double[] equalArray = new double[20000];
+        Arrays.fill(equalArray, 7.0);
+        runIntroTest("Introsort: All-Equal Array", equalArray, ThreadLocalRandom.current(), false);
+
+        // 5. Introsort: sorted and random inputs stay within the depth limit, so no heapsort
+        runIntroTest("Introsort: Already Sorted Array", generateAdversarialArray(20000, false), ThreadLocalRandom.current(), false);
+        for (int run = 0; run < 20; run++) {
+            double[] introRandom = new double[50000];
+            for (int i = 0; i < introRandom.length; i++) introRandom[i] = RANDOM.nextDouble() * 10000;
+            runIntroTest("Introsort: Large Random Array #" + run, introRandom, ThreadLocalRandom.current(), false);
+        }
+
+        // 6. Introsort: a generator that always samples the first element picks the minimum of a
+        //    sorted range as pivot, so only the depth limit (and heapsort) keeps it O(n log n)
+        RandomGenerator firstElement = () -> 0L;
+        runIntroTest("Introsort: Adversarial Pivot Generator", generateAdversarialArray(20000, false), firstElement, true);
+
+        // 7. Three-way and dual-pivot partitioning: every input shape, tiny sizes and sub-ranges
+        for (QuickSort.Partitioning scheme : new QuickSort.Partitioning[] {QuickSort.Partitioning.THREE_WAY, QuickSort.Partitioning.DUAL_PIVOT}) {
+            for (int n : new int[] {0, 1, 2, 3, 17, 1000}) {
+                double[] small = new double[n];
+                for (int i = 0; i < n; i++) small[i] = RANDOM.nextDouble() * 100 - 50;
+                runSchemeTest("Random", small, 0, n, scheme);
+            }
+            double[] schemeRandom = new double[50000];
+            for (int i = 0; i < schemeRandom.length; i++) schemeRandom[i] = RANDOM.nextDouble() * 10000;
+            runSchemeTest("Large Random Array", schemeRandom, 0, schemeRandom.length, scheme);
+            runSchemeTest("Already Sorted Array", generateAdversarialArray(20000, false), 0, 20000, scheme);
+            runSchemeTest("Reverse Sorted Array", generateAdversarialArray(20000, true), 0, 20000, scheme);
+            double[] allEqual = new double[20000];
+            Arrays.fill(allEqual, 7.0);
+            runSchemeTest("All-Equal Array", allEqual, 0, allEqual.length, scheme);
+            double[] fewUnique = new double[50000];
+            for (int i = 0; i < fewUnique.length; i++) fewUnique[i] = RANDOM.nextInt(3);
+            runSchemeTest("Few Unique (3 keys)", fewUnique, 0, fewUnique.length, scheme);
+            double[] organPipe = new double[20000];
+            for (int i = 0; i < organPipe.length; i++) organPipe[i] = Math.min(i, organPipe.length - i);
+            runSchemeTest("Organ Pipe", organPipe, 0, organPipe.length, scheme);
+            runSchemeTest("Sub-range of Random", schemeRandom, 1000, 40000, scheme);
+        }
+
         System.out.println("--------------------------------------------------");
         System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
         if (failedTests == 0) {
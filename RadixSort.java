@@ -0,0 +1,169 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * LSD radix sort for doubles, an alternative to the comparison sorts for large arrays.
+ * Features:
+ * - Byte-wise (8 passes of 8 bits) sort on the IEEE-754 bits flipped into sortable order:
+ *   the sign bit is flipped for positive values and all bits for negative ones, which makes
+ *   the unsigned order of the keys match Double.compare (-Infinity < ... < -0.0 < 0.0 < ...
+ *   < Infinity < NaN, with all NaNs equal).
+ * - All eight digit histograms are built in a single counting pass, and a pass is skipped
+ *   when every value has the same digit in it (e.g. the exponent bytes of values in a narrow range).
+ * - The sort is stable and uses a single scratch buffer like MergeSort: passes alternate
+ *   between the array and the buffer, with at most one copy back at the end.
+ * - The keys are recomputed from the values in every pass, so no long[] key array is allocated.
+ */
+public class RadixSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int DIGITS = Long.SIZE / RADIX_BITS;
+
+    // Number of distribution passes performed and skipped by the last sort (metrics only).
+    private static int passes = 0;
+    private static int skippedPasses = 0;
+
+    /**
+     * Sorts the array in the order of Double.compare.
+     * @param arr The array to be sorted.
+     */
+    public static void sort(double[] arr) {
+        sort(arr, new double[arr.length]);
+    }
+
+    /**
+     * Sorts the array in the order of Double.compare with a caller-supplied buffer.
+     * @param arr The array to be sorted.
+     * @param scratch The temporary buffer; must be at least arr.length long.
+     */
+    public static void sort(double[] arr, double[] scratch) {
+        sort(arr, 0, arr.length, scratch);
+    }
+
+    /**
+     * Sorts the range arr[from..to) in the order of Double.compare with a caller-supplied buffer;
+     * elements outside the range are not touched.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @param scratch The temporary buffer; must be at least to - from long.
+     */
+    public static void sort(double[] arr, int from, int to, double[] scratch) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        int n = to - from;
+        if (scratch.length < n) {
+            throw new IllegalArgumentException("scratch buffer too small: " + scratch.length + " < " + n);
+        }
+
+        int[][] counts = new int[DIGITS][BUCKETS];
+        for (int i = from; i < to; i++) {
+            long key = sortableKey(arr[i]);
+            for (int d = 0; d < DIGITS; d++) {
+                counts[d][(int) (key >>> (d * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        int performed = 0;
+        int skipped = 0;
+        // The range sits at from in arr and at 0 in scratch.
+        double[] src = arr;
+        double[] dst = scratch;
+        int srcBase = from;
+        int dstBase = 0;
+        for (int d = 0; d < DIGITS; d++) {
+            int[] count = counts[d];
+            int shift = d * RADIX_BITS;
+            if (n == 0 || count[(int) (sortableKey(src[srcBase]) >>> shift) & (BUCKETS - 1)] == n) {
+                // Every value has the same digit here: the pass would not move anything.
+                skipped++;
+                continue;
+            }
+
+            // Turn the histogram into starting offsets.
+            int offset = dstBase;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = offset;
+                offset += c;
+            }
+            for (int i = srcBase; i < srcBase + n; i++) {
+                double value = src[i];
+                dst[count[(int) (sortableKey(value) >>> shift) & (BUCKETS - 1)]++] = value;
+            }
+            double[] swap = src;
+            src = dst;
+            dst = swap;
+            int swapBase = srcBase;
+            srcBase = dstBase;
+            dstBase = swapBase;
+            performed++;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, from, n);
+        }
+        passes = performed;
+        skippedPasses = skipped;
+    }
+
+    /**
+     * Returns a Sorter running the radix sort; it allocates its buffer per call and keeps
+     * no state, so it can be shared between threads.
+     * @return The sorter.
+     */
+    public static Sorter sorter() {
+        return new Sorter() {
+            @Override
+            public void sort(double[] arr, int from, int to) {
+                Objects.checkFromToIndex(from, to, arr.length);
+                RadixSort.sort(arr, from, to, new double[to - from]);
+            }
+
+            @Override
+            public String name() {
+                return "RadixSort";
+            }
+        };
+    }
+
+    /**
+     * @return The number of distribution passes performed by the last sort.
+     */
+    public static int getPasses() {
+        return passes;
+    }
+
+    /**
+     * @return The number of passes skipped by the last sort because all values shared the digit.
+     */
+    public static int getSkippedPasses() {
+        return skippedPasses;
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order is the order of Double.compare.
+     * doubleToLongBits collapses every NaN into the canonical one, so all NaNs compare equal.
+     */
+    static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Main method to test the RadixSort algorithm and print results.
+     */
+    public static void main(String[] args) {
+        double[] testArray = {80.5, -64.1, 65.3, Double.NaN, 0.0, -0.0, 99.8, Double.NEGATIVE_INFINITY, 45.6, 88.7,
+                -10.1, 55.4, Double.POSITIVE_INFINITY, 21.0, 33.3, -67.2, 90.5, 11.2, 44.4, 25.5, 78.8};
+
+        long startTime = System.nanoTime();
+        sort(testArray);
+        long endTime = System.nanoTime();
+
+        System.out.println("Sorted Array: " + Arrays.toString(testArray));
+        System.out.println("\n--- Performance Metrics ---");
+        System.out.println("Execution Time: " + (endTime - startTime) / 1_000_000.0 + " ms");
+        System.out.println("Passes: " + passes + " (skipped " + skippedPasses + ")");
+    }
+}
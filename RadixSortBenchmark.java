@@ -0,0 +1,83 @@
+/**
+ * Benchmarks for RadixSort, the size thresholds of SortDispatcher and the sampling of AdaptiveSorter.
+ * Usage: java RadixSortBenchmark [n]
+ */
+public class RadixSortBenchmark {
+
+    // Each size is sorted this many times per measured run, scaled down as n grows.
+    private static final int ELEMENTS_PER_RUN = 1 << 22;
+
+    /**
+     * Times MergeSort, QuickSort (introsort) and RadixSort per sort on random doubles of
+     * growing size, together with the choice of SortDispatcher at that size.
+     * @param maxN The largest array length.
+     */
+    static void crossover(int maxN) {
+        System.out.println("--- Sort Crossover (random doubles, us per sort) ---");
+        System.out.printf("%-10s %12s %12s %12s   %s%n", "n", "MergeSort", "QuickSort", "RadixSort", "dispatcher");
+        for (int n = 16; n <= maxN; n *= 2) {
+            double[] input = BenchmarkSupport.randomArray(n, 42);
+            double[] work = new double[n];
+            double[] scratch = new double[n];
+            int reps = Math.max(1, ELEMENTS_PER_RUN / n);
+            long merge = perSort(input, work, reps, () -> MergeSort.sort(work, scratch));
+            long quick = perSort(input, work, reps, () -> QuickSort.sortIntro(work));
+            long radix = perSort(input, work, reps, () -> RadixSort.sort(work, scratch));
+            System.out.printf("%-10d %12.2f %12.2f %12.2f   %s%n", n, merge / 1_000.0, quick / 1_000.0, radix / 1_000.0,
+                    SortDispatcher.choice(n));
+        }
+    }
+
+    /**
+     * Compares MergeSort and RadixSort on every input distribution, with the radix passes skipped.
+     * @param n The array length.
+     */
+    static void distributions(int n) {
+        System.out.println("--- MergeSort vs RadixSort (N=" + n + ", ms) ---");
+        System.out.printf("%-12s %12s %12s %8s%n", "input", "MergeSort", "RadixSort", "skipped");
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            long merge = BenchmarkSupport.medianNanos(input, MergeSort::sort);
+            long radix = BenchmarkSupport.medianNanos(input, RadixSort::sort);
+            System.out.printf("%-12s %12.2f %12.2f %8d%n", distribution, merge / 1_000_000.0, radix / 1_000_000.0,
+                    RadixSort.getSkippedPasses());
+        }
+    }
+
+    /**
+     * Compares the size-only SortDispatcher with AdaptiveSorter (default thresholds) on every
+     * input distribution, with the engine AdaptiveSorter picked.
+     * @param n The array length.
+     */
+    static void dispatch(int n) {
+        AdaptiveSorter adaptive = new AdaptiveSorter();
+        System.out.println("--- SortDispatcher vs AdaptiveSorter (N=" + n + ", ms) ---");
+        System.out.printf("%-12s %14s %14s   %s%n", "input", "SortDispatcher", "AdaptiveSorter", "engine");
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            long sizeOnly = BenchmarkSupport.medianNanos(input, SortDispatcher::sort);
+            long sampled = BenchmarkSupport.medianNanos(input, adaptive::sort);
+            System.out.printf("%-12s %14.2f %14.2f   %s%n", distribution, sizeOnly / 1_000_000.0, sampled / 1_000_000.0,
+                    adaptive.choose(input, 0, n).name());
+        }
+    }
+
+    /**
+     * Median time of one sort, measured over batches of reps sorts of a fresh copy.
+     */
+    private static long perSort(double[] input, double[] work, int reps, Runnable sort) {
+        return BenchmarkSupport.medianNanos(() -> {
+            for (int r = 0; r < reps; r++) {
+                System.arraycopy(input, 0, work, 0, input.length);
+                sort.run();
+            }
+        }) / reps;
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        crossover(Math.min(n, 1 << 22));
+        distributions(n);
+        dispatch(n);
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Test
+public class RadixSortTest {
+
+    private static final Random RANDOM = new Random();
+    private static int totalTests = 0;
+    private static int failedTests = 0;
+
+    private static final double[] SPECIAL = {
+            Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, -Double.MAX_VALUE,
+            Double.longBitsToDouble(0x7ff8000000000123L)   // a NaN with a different payload
+    };
+
+    /**
+     * Prints one result in the format of the other test drivers and counts it.
+     */
+    private static void report(String name, int n, boolean passed) {
+        totalTests++;
+        System.out.println("--------------------------------------------------");
+        System.out.printf("Test: %s (N=%d)\n", name, n);
+        System.out.printf("Correctness Check: %s\n", passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            failedTests++;
+        }
+    }
+
+    /**
+     * Random values with the given fraction drawn from SPECIAL.
+     */
+    private static double[] generate(int size, double specialFraction) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = RANDOM.nextDouble() < specialFraction ? SPECIAL[RANDOM.nextInt(SPECIAL.length)]
+                    : (RANDOM.nextDouble() - 0.5) * Math.pow(10, RANDOM.nextInt(40) - 20);
+        }
+        return arr;
+    }
+
+    /**
+     * Radix sorts a copy of the input and compares it with Arrays.sort, which orders by
+     * Double.compare (-0.0 before 0.0, NaN last). Arrays.equals compares the bits of each value
+     * (all NaNs alike), so a -0.0 and 0.0 in the wrong order fail the check.
+     */
+    private static void runSortTest(String name, double[] input) {
+        double[] expected = input.clone();
+        Arrays.sort(expected);
+        double[] arr = input.clone();
+        RadixSort.sort(arr);
+        report(name, input.length, Arrays.equals(arr, expected));
+    }
+
+    /**
+     * Sorts the input and checks that exactly the expected number of passes was skipped.
+     */
+    private static void runSkippedPassesTest(String name, double[] input, int expectedSkipped) {
+        double[] expected = input.clone();
+        Arrays.sort(expected);
+        double[] arr = input.clone();
+        RadixSort.sort(arr);
+        System.out.printf("  passes %d, skipped %d\n", RadixSort.getPasses(), RadixSort.getSkippedPasses());
+        report(name, input.length, Arrays.equals(arr, expected)
+                && RadixSort.getSkippedPasses() == expectedSkipped
+                && RadixSort.getPasses() + RadixSort.getSkippedPasses() == Long.BYTES);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- RadixSort Tests ---");
+
+        // 1. Order of Double.compare, with NaN, signed zeros, infinities and subnormals mixed in
+        for (int n : new int[] {0, 1, 2, 100, 10_000, 300_000}) {
+            runSortTest("Random", generate(n, 0));
+            runSortTest("Random with 10% Special Values", generate(n, 0.1));
+        }
+        double[] zeros = new double[10_000];
+        for (int i = 0; i < zeros.length; i++) {
+            zeros[i] = RANDOM.nextBoolean() ? -0.0 : 0.0;
+        }
+        runSortTest("Signed Zeros Only", zeros);
+        runSortTest("Special Values Only", generate(10_000, 1));
+        double[] descending = new double[10_000];
+        for (int i = 0; i < descending.length; i++) {
+            descending[i] = descending.length / 2 - i;
+        }
+        runSortTest("Reverse Sorted, Negative and Positive", descending);
+
+        // 2. Skipped passes: a pass is skipped exactly when every key has the same digit in it
+        double[] same = new double[1000];
+        Arrays.fill(same, 42.0);
+        runSkippedPassesTest("All Equal: every pass skipped", same, 8);
+        runSkippedPassesTest("Signed Zeros: the keys differ in every byte", zeros, 0);
+        double[] lowBits = new double[1000];
+        for (int i = 0; i < lowBits.length; i++) {
+            // Values one ulp apart above 1.0 differ only in their lowest byte.
+            lowBits[i] = 1.0 + RANDOM.nextInt(256) * Math.ulp(1.0);
+        }
+        runSkippedPassesTest("Lowest Byte Only: seven passes skipped", lowBits, 7);
+        runSkippedPassesTest("Empty Array: every pass skipped", new double[0], 8);
+
+        // 3. Range sort with a caller buffer: elements outside the range must not move
+        double[] rangeInput = generate(1000, 0.1);
+        double[] range = rangeInput.clone();
+        RadixSort.sort(range, 100, 900, new double[800]);
+        double[] rangeExpected = rangeInput.clone();
+        Arrays.sort(rangeExpected, 100, 900);
+        report("Range [100, 900) with Exact Buffer", rangeInput.length, Arrays.equals(range, rangeExpected));
+        boolean rejected;
+        try {
+            RadixSort.sort(new double[100], new double[99]);
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        report("Buffer Too Small Rejected", 100, rejected);
+
+        // 4. The dispatcher sorts on both sides of its radix threshold
+        for (int n : new int[] {SortDispatcher.RADIX_THRESHOLD - 1, SortDispatcher.RADIX_THRESHOLD}) {
+            double[] input = generate(n, 0);
+            double[] expected = input.clone();
+            Arrays.sort(expected);
+            SortDispatcher.sort(input);
+            report("SortDispatcher with " + SortDispatcher.choice(n), n, Arrays.equals(input, expected));
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.printf("TEST SUMMARY: %d Total Tests, %d Failed.\n", totalTests, failedTests);
+        if (failedTests == 0) {
+            System.out.println("Conclusion: RadixSort orders doubles like Double.compare and skips constant digits.");
+        }
+    }
+}
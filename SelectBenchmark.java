@@ -0,0 +1,341 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmarks for the selection algorithms.
+ * Usage: java SelectBenchmark [n]
+ */
+public class SelectBenchmark {
+
+    // Thread counts used for the scaling table.
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Compares latency and bytes allocated per call of DeterSelect.select against the
+     * previous implementation, which allocated a medians array at every level and
+     * searched for the pivot by value.
+     * @param n The array length.
+     */
+    static void allocation(int n) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+        int k = n / 2;
+
+        System.out.println("--- DeterSelect Allocation (N=" + n + ", k=" + k + ") ---");
+        System.out.printf("%-22s %12s %16s%n", "version", "time (ms)", "allocated (B)");
+        row("previous (allocating)", input, arr -> LegacySelect.select(arr, 0, arr.length - 1, k));
+        row("in-place", input, arr -> DeterSelect.select(arr, 0, arr.length - 1, k));
+    }
+
+    /**
+     * Compares introSelect against select and against a full sort followed by indexing.
+     * @param n The array length.
+     */
+    static void introSelect(int n) {
+        int k = n / 2;
+        System.out.println("--- Selection Latency (N=" + n + ", k=" + k + ", ms) ---");
+        System.out.printf("%-12s %12s %12s %12s%n", "input", "select", "introSelect", "sort+index");
+        for (BenchmarkSupport.Distribution distribution : BenchmarkSupport.Distribution.values()) {
+            double[] input = BenchmarkSupport.generate(distribution, n, 42);
+            long select = BenchmarkSupport.medianQueryNanos(input, arr -> DeterSelect.select(arr, 0, arr.length - 1, k));
+            long intro = BenchmarkSupport.medianQueryNanos(input, arr -> DeterSelect.introSelect(arr, 0, arr.length - 1, k));
+            long sort = BenchmarkSupport.medianQueryNanos(input, arr -> {
+                Arrays.sort(arr);
+                return arr[k];
+            });
+            System.out.printf("%-12s %12.2f %12.2f %12.2f%n", distribution,
+                    select / 1_000_000.0, intro / 1_000_000.0, sort / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Compares selectMany for p50/p90/p95/p99/p99.9 against five select calls and a full sort.
+     * @param n The array length.
+     */
+    static void quantiles(int n) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+        double[] quantiles = {0.5, 0.9, 0.95, 0.99, 0.999};
+        int[] ranks = new int[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            ranks[i] = (int) (quantiles[i] * (n - 1));
+        }
+
+        System.out.println("--- Multi-Rank Selection (N=" + n + ", q=" + ranks.length + ") ---");
+        long many = BenchmarkSupport.medianQueryNanos(input, arr -> sum(DeterSelect.selectMany(arr, ranks)));
+        long repeated = BenchmarkSupport.medianQueryNanos(input, arr -> {
+            double sum = 0;
+            for (int rank : ranks) {
+                sum += DeterSelect.select(arr, 0, arr.length - 1, rank);
+            }
+            return sum;
+        });
+        long sort = BenchmarkSupport.medianNanos(input, Arrays::sort);
+        System.out.printf("%-18s %10.2f ms%n", "selectMany", many / 1_000_000.0);
+        System.out.printf("%-18s %10.2f ms%n", "repeated select", repeated / 1_000_000.0);
+        System.out.printf("%-18s %10.2f ms%n", "Arrays.sort", sort / 1_000_000.0);
+    }
+
+    /**
+     * Streams the input through QuantileSketch for several k and compares memory, time and the
+     * rank error of a few quantiles with exact select. The last column merges 8 shard sketches
+     * after a serialization round trip and reports the same error for the merged sketch.
+     * @param n The array length.
+     */
+    static void sketch(int n) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+        double[] quantiles = {0.01, 0.1, 0.5, 0.9, 0.99, 0.999};
+        double[] sorted = input.clone();
+        Arrays.sort(sorted);
+
+        long exact = BenchmarkSupport.medianQueryNanos(input, arr -> {
+            double sum = 0;
+            for (double q : quantiles) {
+                sum += DeterSelect.select(arr, 0, arr.length - 1, (int) (q * (arr.length - 1)));
+            }
+            return sum;
+        });
+        System.out.println("--- Quantile Sketch vs Exact Select (N=" + n + ", " + quantiles.length + " quantiles) ---");
+        System.out.printf("exact select: %d bytes, %.2f ms%n", (long) n * Double.BYTES, exact / 1_000_000.0);
+        System.out.printf("%-6s %10s %12s %12s %12s %14s %14s%n",
+                "k", "retained", "bytes", "add (ms)", "bound", "max rank err", "merged err");
+        for (int k : new int[] {50, 100, 200, 400, 800}) {
+            QuantileSketch[] holder = new QuantileSketch[1];
+            long nanos = BenchmarkSupport.medianNanos(() -> {
+                QuantileSketch sketch = new QuantileSketch(k);
+                for (double value : input) {
+                    sketch.add(value);
+                }
+                holder[0] = sketch;
+            });
+            QuantileSketch sketch = holder[0];
+
+            int shards = 8;
+            QuantileSketch merged = new QuantileSketch(k);
+            for (int s = 0; s < shards; s++) {
+                QuantileSketch shard = new QuantileSketch(k);
+                for (int i = s; i < n; i += shards) {
+                    shard.add(input[i]);
+                }
+                merged.merge(QuantileSketch.fromBytes(shard.toBytes()));
+            }
+
+            System.out.printf("%-6d %10d %12d %12.2f %11.2f%% %13.3f%% %13.3f%%%n", k, sketch.getRetainedItems(),
+                    sketch.serializedSize(), nanos / 1_000_000.0, 100 * sketch.normalizedRankError(),
+                    100 * maxRankError(sketch, sorted, quantiles), 100 * maxRankError(merged, sorted, quantiles));
+        }
+    }
+
+    /**
+     * Largest normalized distance between the requested rank and the rank range of the estimate.
+     */
+    private static double maxRankError(QuantileSketch sketch, double[] sorted, double[] quantiles) {
+        int n = sorted.length;
+        double worst = 0;
+        for (double q : quantiles) {
+            double estimate = sketch.quantile(q);
+            int target = (int) (q * (n - 1));
+            int first = lowerBound(sorted, estimate);
+            int last = lowerBound(sorted, Math.nextUp(estimate)) - 1;
+            int distance = target < first ? first - target : (target > last ? target - last : 0);
+            worst = Math.max(worst, (double) distance / n);
+        }
+        return worst;
+    }
+
+    private static int lowerBound(double[] sorted, double key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Percentile queries on one shared array: clone-then-select against the non-destructive
+     * selectReadOnly, as single-query latency and allocation, and as queries per second with
+     * several threads querying the same array at once.
+     * @param n The array length.
+     */
+    static void readOnly(int n) throws Exception {
+        double[] shared = BenchmarkSupport.randomArray(n, 42);
+        int k = (int) (0.99 * (n - 1));
+        String[] names = {"clone + select", "clone + introSelect", "selectReadOnly"};
+        List<ToDoubleFunction<double[]>> queries = List.of(
+                arr -> { double[] copy = arr.clone(); return DeterSelect.select(copy, 0, copy.length - 1, k); },
+                arr -> { double[] copy = arr.clone(); return DeterSelect.introSelect(copy, 0, copy.length - 1, k); },
+                arr -> DeterSelect.selectReadOnly(arr, k));
+        int[] threadCounts = {1, 2, 4, 8};
+        int queriesPerThread = 20;
+
+        System.out.println("--- Shared-Array p99 Queries (N=" + n + ") ---");
+        System.out.printf("%-20s %10s %14s", "mode", "ms/query", "bytes/query");
+        for (int threads : threadCounts) {
+            System.out.printf(" %10s", threads + " thr q/s");
+        }
+        System.out.println();
+        for (int m = 0; m < queries.size(); m++) {
+            ToDoubleFunction<double[]> query = queries.get(m);
+            long nanos = BenchmarkSupport.medianNanos(() -> query.applyAsDouble(shared));
+            long bytes = BenchmarkSupport.allocatedBytes(() -> query.applyAsDouble(shared));
+            System.out.printf("%-20s %10.2f %14d", names[m], nanos / 1_000_000.0, bytes);
+            for (int threads : threadCounts) {
+                long elapsed = queryConcurrently(shared, query, threads, queriesPerThread);
+                System.out.printf(" %10.1f", threads * queriesPerThread / (elapsed / 1e9));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Runs queriesPerThread queries on each of the given number of threads, all on the same
+     * array, and returns the elapsed time in nanoseconds.
+     */
+    private static long queryConcurrently(double[] shared, ToDoubleFunction<double[]> query, int threads,
+                                          int queriesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            long startTime = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int q = 0; q < queriesPerThread; q++) {
+                        BenchmarkSupport.consume(query.applyAsDouble(shared));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Strong scaling of parallelSelect for the median against the sequential select.
+     * The 10^8 table needs about 2.5 GB of heap: java -Xmx4g SelectBenchmark 100000000
+     * @param n The array length.
+     */
+    static void parallelScaling(int n) {
+        double[] input = BenchmarkSupport.randomArray(n, 42);
+        int k = n / 2;
+
+        System.out.println("--- Parallel DeterSelect Scaling (N=" + n + ", cores=" + Runtime.getRuntime().availableProcessors() + ") ---");
+        long baseline = BenchmarkSupport.medianQueryNanos(input, arr -> DeterSelect.select(arr, 0, arr.length - 1, k));
+        System.out.printf("%-8s %12s %8s%n", "threads", "time (ms)", "speedup");
+        System.out.printf("%-8s %12.2f %8.2f%n", "select", baseline / 1_000_000.0, 1.0);
+        for (int threads : THREADS) {
+            long nanos = BenchmarkSupport.medianQueryNanos(input, arr -> DeterSelect.parallelSelect(arr, k, threads));
+            System.out.printf("%-8d %12.2f %8.2f%n", threads, nanos / 1_000_000.0, (double) baseline / nanos);
+        }
+    }
+
+    private static void row(String name, double[] input, ToDoubleFunction<double[]> query) {
+        long nanos = BenchmarkSupport.medianQueryNanos(input, query);
+        long bytes = BenchmarkSupport.allocatedQueryBytes(input, query);
+        System.out.printf("%-22s %12.2f %16d%n", name, nanos / 1_000_000.0, bytes);
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Copy of the previous DeterSelect, kept only as the baseline for the allocation benchmark.
+     */
+    private static class LegacySelect {
+
+        private static double medianOfSmallArray(double[] arr, int low, int high) {
+            for (int i = low + 1; i <= high; i++) {
+                double key = arr[i];
+                int j = i - 1;
+                while (j >= low && arr[j] > key) {
+                    arr[j + 1] = arr[j];
+                    j--;
+                }
+                arr[j + 1] = key;
+            }
+            return arr[low + (high - low) / 2];
+        }
+
+        private static double findMoMPivot(double[] arr, int low, int high) {
+            int n = high - low + 1;
+            if (n <= 5) {
+                return medianOfSmallArray(arr, low, high);
+            }
+            int numGroups = (int) Math.ceil(n / 5.0);
+            double[] medians = new double[numGroups];
+            for (int i = 0; i < numGroups; i++) {
+                int groupLow = low + i * 5;
+                int groupHigh = Math.min(groupLow + 4, high);
+                medians[i] = medianOfSmallArray(arr, groupLow, groupHigh);
+            }
+            return select(medians, 0, medians.length - 1, medians.length / 2);
+        }
+
+        private static int partition(double[] arr, int low, int high, double pivot) {
+            for (int i = low; i <= high; i++) {
+                if (arr[i] == pivot) {
+                    swap(arr, i, high);
+                    break;
+                }
+            }
+            double pivotValue = arr[high];
+            int i = low;
+            for (int j = low; j < high; j++) {
+                if (arr[j] <= pivotValue) {
+                    swap(arr, i, j);
+                    i++;
+                }
+            }
+            swap(arr, i, high);
+            return i;
+        }
+
+        static double select(double[] arr, int low, int high, int k) {
+            if (low == high) {
+                return arr[low];
+            }
+            double pivotValue = findMoMPivot(arr, low, high);
+            int pivotIndex = partition(arr, low, high, pivotValue);
+            int pivotRank = pivotIndex - low;
+            if (k == pivotRank) {
+                return arr[pivotIndex];
+            } else if (k < pivotRank) {
+                return select(arr, low, pivotIndex - 1, k);
+            } else {
+                return select(arr, pivotIndex + 1, high, k - pivotRank - 1);
+            }
+        }
+
+        private static void swap(double[] arr, int i, int j) {
+            double temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        allocation(n);
+        introSelect(n);
+        quantiles(n);
+        sketch(n);
+        readOnly(n);
+        parallelScaling(n);
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * A selection engine for double arrays: returns the element that would sit at a given rank
+ * if the range were sorted. Instances come from DeterSelect.selector(cutoff),
+ * DeterSelect.introSelector() and DeterSelect.readOnlySelector(). Unless an implementation
+ * says otherwise, it may reorder the range while searching.
+ */
+public interface Selector {
+
+    /**
+     * Selects the element of rank k within arr[from..to).
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @param k The 0-based rank within the range.
+     * @return The element of rank k.
+     */
+    double select(double[] arr, int from, int to, int k);
+
+    /**
+     * Selects the element of rank k within the whole array.
+     * @param arr The array to search.
+     * @param k The 0-based rank.
+     * @return The element of rank k.
+     */
+    default double select(double[] arr, int k) {
+        return select(arr, 0, arr.length, k);
+    }
+
+    /**
+     * @return A short description of the engine and its parameters, for logs and benchmarks.
+     */
+    String name();
+}
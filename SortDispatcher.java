@@ -0,0 +1,59 @@
+/**
+ * Picks a sorting algorithm for a double[] by its size.
+ * The size threshold is the radixThreshold of SortThresholds.DEFAULTS, so it switches engines
+ * where the default AdaptiveSorter does (times per sort on random doubles, see
+ * RadixSortBenchmark):
+ * - Below RADIX_THRESHOLD elements MergeSort wins: the eight radix passes over 256 buckets
+ *   have a fixed cost that small arrays cannot amortize.
+ * - From RADIX_THRESHOLD on, RadixSort wins, by about 2x at 4K elements and 4-5x at 1M.
+ * - QuickSort (introsort) was at best level with MergeSort on tiny arrays and slower
+ *   everywhere else, so it is only used by sortInPlace, for callers that cannot afford the
+ *   O(n) scratch buffer of the other two.
+ * - The choice looks at the size only. On (nearly) sorted input MergeSort's merge skip beats
+ *   the radix passes even for large n.
+ *   AdaptiveSorter samples the input and routes such inputs, and duplicate-heavy ones, to the
+ *   adaptive MergeSort or the three-way QuickSort, with thresholds calibrated on the host.
+ * Results follow Double.compare on the radix path; on the comparison paths NaN is not
+ * ordered and -0.0 and 0.0 compare equal, so inputs with NaN should be filtered first.
+ */
+public class SortDispatcher {
+
+    // Arrays of at least this length are radix sorted.
+    static final int RADIX_THRESHOLD = SortThresholds.DEFAULTS.getRadixThreshold();
+
+    /**
+     * Sorts the array with the algorithm chosen for its size.
+     * @param arr The array to be sorted.
+     */
+    public static void sort(double[] arr) {
+        sort(arr, new double[arr.length]);
+    }
+
+    /**
+     * Sorts the array with the algorithm chosen for its size, using a caller-supplied buffer.
+     * @param arr The array to be sorted.
+     * @param scratch The temporary buffer; must be at least arr.length long.
+     */
+    public static void sort(double[] arr, double[] scratch) {
+        if (arr.length >= RADIX_THRESHOLD) {
+            RadixSort.sort(arr, scratch);
+        } else {
+            MergeSort.sort(arr, scratch);
+        }
+    }
+
+    /**
+     * Sorts the array without an O(n) buffer, using QuickSort's introsort mode.
+     * @param arr The array to be sorted.
+     */
+    public static void sortInPlace(double[] arr) {
+        QuickSort.sortIntro(arr);
+    }
+
+    /**
+     * @return The name of the algorithm sort would use for an array of the given length.
+     */
+    static String choice(int n) {
+        return n >= RADIX_THRESHOLD ? "RadixSort" : "MergeSort";
+    }
+}
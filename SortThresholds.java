@@ -0,0 +1,337 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * The tuning parameters of AdaptiveSorter, and the calibration that measures them on the host.
+ * Features:
+ * - mergeCutoff: MergeSort's insertion-sort cutoff (the hard-coded default is 7).
+ * - radixThreshold: the size from which RadixSort beats MergeSort on random input. SortDispatcher
+ *   switches engines at the DEFAULTS value.
+ * - presortedThreshold: the sampled fraction of in-order neighbours from which the adaptive
+ *   MergeSort beats RadixSort.
+ * - duplicateThreshold: the sampled duplicate ratio from which QuickSort's three-way mode beats
+ *   RadixSort; 1.0 disables that route, since a sample never reaches it.
+ * - calibrate() times the candidates on synthetic inputs (a few seconds), and loadOrCalibrate()
+ *   caches the result in a properties file tagged with the host, so later starts only read it.
+ * Instances are immutable.
+ */
+public final class SortThresholds {
+
+    /**
+     * Thresholds measured with calibrate() on a single-core x86-64 sandbox (JDK 17); used when no
+     * calibration is available.
+     */
+    public static final SortThresholds DEFAULTS = new SortThresholds(31, 2048, 0.94, 0.62);
+
+    // Input size of the presortedness and duplicate calibrations.
+    private static final int CALIBRATION_N = 1 << 17;
+
+    // Untimed and timed runs per candidate; the fastest timed run counts.
+    private static final int WARMUP_RUNS = 2;
+    private static final int TIMED_RUNS = 5;
+
+    // Sorts of a 16K array per engine before any candidate is timed.
+    private static final int JIT_WARMUP_RUNS = 50;
+
+    // System property that overrides the location of the default cache file.
+    private static final String FILE_PROPERTY = "sort.thresholds.file";
+
+    // Version tag of the cache file format.
+    private static final String FORMAT = "1";
+
+    private final int mergeCutoff;
+    private final int radixThreshold;
+    private final double presortedThreshold;
+    private final double duplicateThreshold;
+
+    /**
+     * Creates a set of thresholds.
+     * @param mergeCutoff MergeSort's insertion-sort cutoff (at least 0).
+     * @param radixThreshold The smallest size that is radix sorted (at least 1).
+     * @param presortedThreshold The sortedness from which the adaptive MergeSort is used.
+     * @param duplicateThreshold The duplicate ratio from which the three-way QuickSort is used.
+     */
+    public SortThresholds(int mergeCutoff, int radixThreshold, double presortedThreshold, double duplicateThreshold) {
+        if (mergeCutoff < 0) {
+            throw new IllegalArgumentException("mergeCutoff must not be negative: " + mergeCutoff);
+        }
+        if (radixThreshold < 1) {
+            throw new IllegalArgumentException("radixThreshold must be positive: " + radixThreshold);
+        }
+        if (!(presortedThreshold >= 0 && presortedThreshold <= 1)) {
+            throw new IllegalArgumentException("presortedThreshold must be in [0, 1]: " + presortedThreshold);
+        }
+        if (!(duplicateThreshold >= 0 && duplicateThreshold <= 1)) {
+            throw new IllegalArgumentException("duplicateThreshold must be in [0, 1]: " + duplicateThreshold);
+        }
+        this.mergeCutoff = mergeCutoff;
+        this.radixThreshold = radixThreshold;
+        this.presortedThreshold = presortedThreshold;
+        this.duplicateThreshold = duplicateThreshold;
+    }
+
+    public int getMergeCutoff() {
+        return mergeCutoff;
+    }
+
+    public int getRadixThreshold() {
+        return radixThreshold;
+    }
+
+    public double getPresortedThreshold() {
+        return presortedThreshold;
+    }
+
+    public double getDuplicateThreshold() {
+        return duplicateThreshold;
+    }
+
+    /**
+     * @return The default cache file: the sort.thresholds.file system property if set, and
+     * .sort-thresholds.properties in the user's home directory otherwise.
+     */
+    public static Path defaultFile() {
+        String file = System.getProperty(FILE_PROPERTY);
+        return file != null ? Path.of(file) : Path.of(System.getProperty("user.home"), ".sort-thresholds.properties");
+    }
+
+    /**
+     * Reads the thresholds cached in file if it was written on this host, and otherwise
+     * calibrates and (re)writes the file.
+     * @param file The cache file.
+     * @return The thresholds.
+     * @throws IOException If the file cannot be written.
+     */
+    public static SortThresholds loadOrCalibrate(Path file) throws IOException {
+        if (Files.isRegularFile(file)) {
+            try {
+                SortThresholds cached = load(file);
+                if (cached != null) {
+                    return cached;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // An unreadable or damaged cache is simply measured again.
+            }
+        }
+        SortThresholds measured = calibrate();
+        measured.save(file);
+        return measured;
+    }
+
+    /**
+     * Reads thresholds written by save().
+     * @param file The cache file.
+     * @return The thresholds, or null if the file was written on a different host or JVM.
+     * @throws IOException If the file cannot be read.
+     */
+    public static SortThresholds load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        if (!FORMAT.equals(properties.getProperty("format")) || !hostKey().equals(properties.getProperty("host"))) {
+            return null;
+        }
+        return new SortThresholds(
+                Integer.parseInt(required(properties, "mergeCutoff")),
+                Integer.parseInt(required(properties, "radixThreshold")),
+                Double.parseDouble(required(properties, "presortedThreshold")),
+                Double.parseDouble(required(properties, "duplicateThreshold")));
+    }
+
+    /**
+     * Writes the thresholds to a properties file, tagged with the host they belong to.
+     * @param file The cache file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("format", FORMAT);
+        properties.setProperty("host", hostKey());
+        properties.setProperty("mergeCutoff", Integer.toString(mergeCutoff));
+        properties.setProperty("radixThreshold", Integer.toString(radixThreshold));
+        properties.setProperty("presortedThreshold", Double.toString(presortedThreshold));
+        properties.setProperty("duplicateThreshold", Double.toString(duplicateThreshold));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "SortThresholds calibration");
+        }
+    }
+
+    /**
+     * Measures the thresholds on this host. Each one is the crossover between two engines on
+     * synthetic inputs: the cutoff with the fastest MergeSort at 4K elements, the first power
+     * of two from which RadixSort beats MergeSort, and, at CALIBRATION_N elements, the midpoint of
+     * the sampled statistic between the last input where the specialised engine still wins
+     * and the first where RadixSort does.
+     * @return The measured thresholds.
+     */
+    public static SortThresholds calibrate() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        // Compile every engine first, or the first candidates are timed in the interpreter.
+        double[] warmUp = randomArray(random, 1 << 14);
+        for (Sorter sorter : new Sorter[] {MergeSort.sorter(), MergeSort.adaptiveSorter(),
+                QuickSort.threeWaySorter(), RadixSort.sorter()}) {
+            for (int r = 0; r < JIT_WARMUP_RUNS; r++) {
+                sorter.sort(warmUp.clone());
+            }
+        }
+
+        double[] small = randomArray(random, 4096);
+        int mergeCutoff = DEFAULTS.mergeCutoff;
+        long best = Long.MAX_VALUE;
+        for (int cutoff : new int[] {3, 5, 7, 11, 15, 23, 31}) {
+            long time = bestNanos(MergeSort.sorter(cutoff), small);
+            if (time < best) {
+                best = time;
+                mergeCutoff = cutoff;
+            }
+        }
+
+        Sorter merge = MergeSort.sorter(mergeCutoff);
+        Sorter radix = RadixSort.sorter();
+        // RadixSort has to win at two sizes in a row, so one noisy measurement cannot set it.
+        int radixThreshold = 1 << 17;
+        boolean wonBelow = false;
+        for (int n = 64; n <= 1 << 17; n *= 2) {
+            double[] input = randomArray(random, n);
+            boolean won = bestNanos(radix, input) < bestNanos(merge, input);
+            if (won && wonBelow) {
+                radixThreshold = n / 2;
+                break;
+            }
+            wonBelow = won;
+        }
+
+        // Sorted input with a growing fraction of positions overwritten by random values.
+        Sorter adaptive = MergeSort.adaptiveSorter();
+        double[] fractions = {0.001, 0.003, 0.01, 0.03, 0.1, 0.3};
+        double[] sortedness = new double[fractions.length];
+        boolean[] wins = new boolean[fractions.length];
+        for (int i = 0; i < fractions.length; i++) {
+            double[] input = perturbedSorted(random, CALIBRATION_N, fractions[i]);
+            sortedness[i] = AdaptiveSorter.sortedness(input, 0, input.length);
+            wins[i] = bestNanos(adaptive, input) < bestNanos(radix, input);
+        }
+        double presortedThreshold = crossover(sortedness, wins, 0.5, 1.0);
+
+        // Random input drawn from more and more distinct values.
+        Sorter threeWay = QuickSort.threeWaySorter();
+        int[] distinct = {1 << 2, 1 << 5, 1 << 8, 1 << 11, 1 << 14};
+        double[] duplicates = new double[distinct.length];
+        wins = new boolean[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            double[] input = fewUnique(random, CALIBRATION_N, distinct[i]);
+            duplicates[i] = AdaptiveSorter.duplicateRatio(input, 0, input.length);
+            wins[i] = bestNanos(threeWay, input) < bestNanos(radix, input);
+        }
+        double duplicateThreshold = crossover(duplicates, wins, 0.0, 1.0);
+
+        return new SortThresholds(mergeCutoff, radixThreshold, presortedThreshold, duplicateThreshold);
+    }
+
+    /**
+     * Inputs are ordered from the specialised engine's home ground (index 0) towards the
+     * baseline. Returns the midpoint of the statistic between the last winning and the first
+     * losing input; if every input wins, the midpoint towards the baseline; if none does, never.
+     */
+    private static double crossover(double[] statistic, boolean[] wins, double baseline, double never) {
+        if (!wins[0]) {
+            return never;
+        }
+        int last = 0;
+        while (last + 1 < wins.length && wins[last + 1]) {
+            last++;
+        }
+        double next = last + 1 < wins.length ? statistic[last + 1] : baseline;
+        return (statistic[last] + next) / 2;
+    }
+
+    /**
+     * Fastest of TIMED_RUNS sorts of a fresh copy of input, after WARMUP_RUNS untimed ones.
+     */
+    private static long bestNanos(Sorter sorter, double[] input) {
+        double[] work = new double[input.length];
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < WARMUP_RUNS + TIMED_RUNS; r++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            long startTime = System.nanoTime();
+            sorter.sort(work);
+            long time = System.nanoTime() - startTime;
+            if (r >= WARMUP_RUNS) {
+                best = Math.min(best, time);
+            }
+        }
+        return best;
+    }
+
+    private static double[] randomArray(SplittableRandom random, int n) {
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextDouble() * n;
+        }
+        return arr;
+    }
+
+    private static double[] perturbedSorted(SplittableRandom random, int n, double fraction) {
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextDouble() < fraction ? random.nextDouble() * n : i;
+        }
+        return arr;
+    }
+
+    /**
+     * Draws from a pool of random doubles rather than small integers: those share all their low
+     * bytes, which lets RadixSort skip most passes and would make the duplicate route look useless.
+     */
+    private static double[] fewUnique(SplittableRandom random, int n, int distinct) {
+        double[] pool = randomArray(random, distinct);
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = pool[random.nextInt(distinct)];
+        }
+        return arr;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Identifies the host a calibration belongs to: a cache from another machine or JVM is stale.
+     */
+    private static String hostKey() {
+        return System.getProperty("os.arch") + "/" + Runtime.getRuntime().availableProcessors() + "cpu/"
+                + System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+    }
+
+    @Override
+    public String toString() {
+        return "SortThresholds[mergeCutoff=" + mergeCutoff + ", radixThreshold=" + radixThreshold
+                + ", presortedThreshold=" + presortedThreshold + ", duplicateThreshold=" + duplicateThreshold + "]";
+    }
+
+    /**
+     * Calibrates on this host and prints the result next to the defaults.
+     */
+    public static void main(String[] args) {
+        long startTime = System.nanoTime();
+        SortThresholds measured = calibrate();
+        long endTime = System.nanoTime();
+
+        System.out.println("Defaults:   " + DEFAULTS);
+        System.out.println("Calibrated: " + measured);
+        System.out.println("\n--- Performance ---");
+        System.out.println("Calibration Time: " + (endTime - startTime) / 1_000_000.0 + " ms");
+    }
+}
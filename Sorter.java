@@ -0,0 +1,30 @@
+/**
+ * A sorting engine for double arrays, so that callers (and AdaptiveSorter) can pick or swap
+ * an algorithm at run time. Instances come from the factories of the sorting classes, e.g.
+ * MergeSort.sorter(cutoff), MergeSort.adaptiveSorter(), QuickSort.sorter(threshold),
+ * QuickSort.threeWaySorter() and RadixSort.sorter(), and carry their tuned cutoffs with them.
+ * Implementations order numbers ascending; they differ in how they place NaN and -0.0.
+ */
+public interface Sorter {
+
+    /**
+     * Sorts the range arr[from..to) in place; elements outside the range are not touched.
+     * @param arr The array holding the range.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     */
+    void sort(double[] arr, int from, int to);
+
+    /**
+     * Sorts the whole array in place.
+     * @param arr The array to be sorted.
+     */
+    default void sort(double[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    /**
+     * @return A short description of the engine and its parameters, for logs and benchmarks.
+     */
+    String name();
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Handles to the algorithm entry points.
+ * The algorithms live in the unnamed package, which a named package cannot import, and JMH
+ * refuses benchmark classes in the unnamed package. The benchmarks therefore call them through
+ * static final method handles, which the JIT constant-folds and inlines like a direct call.
+ */
+final class Algorithms {
+
+    static final MethodHandle MERGE_SORT = handle("MergeSort", "sort", void.class, double[].class);
+    static final MethodHandle MERGE_SORT_ADAPTIVE = handle("MergeSort", "sortAdaptive", void.class, double[].class);
+    static final MethodHandle QUICK_SORT_INTRO = handle("QuickSort", "sortIntro", void.class, double[].class);
+    static final MethodHandle QUICK_SORT_NO_SHUFFLE = handle("QuickSort", "sortNoShuffle", void.class, double[].class);
+    static final MethodHandle RADIX_SORT = handle("RadixSort", "sort", void.class, double[].class);
+
+    static final MethodHandle SELECT = handle("DeterSelect", "select", double.class, double[].class, int.class, int.class, int.class);
+    static final MethodHandle INTRO_SELECT = handle("DeterSelect", "introSelect", double.class, double[].class, int.class, int.class, int.class);
+    static final MethodHandle SELECT_READ_ONLY = handle("DeterSelect", "selectReadOnly", double.class, double[].class, int.class);
+
+    // findClosestPair returns a ClosestPP.Result, which is not nameable here either.
+    static final MethodHandle CLOSEST_PAIR = handle("ClosestPP", "findClosestPair", "ClosestPP$Result", double[].class, double[].class)
+            .asType(MethodType.methodType(Object.class, double[].class, double[].class));
+
+    private static MethodHandle handle(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName(owner), name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle handle(String owner, String name, String returnType, Class<?>... parameterTypes) {
+        try {
+            return handle(owner, name, Class.forName(returnType), parameterTypes);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ClosestPP.findClosestPair on uniform points in a square whose side grows with n, as in
+ * BenchmarkSupport.points. The coordinates are only read, so no per-call copy is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ClosestPairBenchmarks {
+
+    @Param({"10000", "1000000"})
+    int n;
+
+    private double[] xs;
+    private double[] ys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        double side = Math.sqrt(n) * 100;
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble() * side;
+            ys[i] = random.nextDouble() * side;
+        }
+    }
+
+    @Benchmark
+    public void closestPair(Blackhole blackhole) throws Throwable {
+        blackhole.consume((Object) Algorithms.CLOSEST_PAIR.invokeExact(xs, ys));
+    }
+}
@@ -0,0 +1,34 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded inputs, the same shapes as BenchmarkSupport.Distribution in the plain-Java drivers.
+ */
+public final class Inputs {
+
+    public enum Distribution {
+        RANDOM, SORTED, REVERSED, FEW_UNIQUE
+    }
+
+    static double[] generate(Distribution distribution, int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] arr = new double[n];
+        for (int i = 0; i < n; i++) {
+            switch (distribution) {
+                case SORTED:
+                    arr[i] = i;
+                    break;
+                case REVERSED:
+                    arr[i] = n - i;
+                    break;
+                case FEW_UNIQUE:
+                    arr[i] = random.nextInt(8);
+                    break;
+                default:
+                    arr[i] = random.nextDouble() * n;
+            }
+        }
+        return arr;
+    }
+}
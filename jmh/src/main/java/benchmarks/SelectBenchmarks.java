@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DeterSelect for the median: the in-place select and introSelect on a fresh copy per call,
+ * and selectReadOnly, which leaves the input alone and so runs on the shared input directly.
+ * Every selected value goes to the Blackhole.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SelectBenchmarks {
+
+    @Param({"100000", "1000000"})
+    int n;
+
+    @Param({"RANDOM", "SORTED", "FEW_UNIQUE"})
+    Inputs.Distribution distribution;
+
+    private double[] input;
+    private double[] work;
+    private int k;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        input = Inputs.generate(distribution, n, 42);
+        work = new double[n];
+        k = n / 2;
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(input, 0, work, 0, n);
+    }
+
+    @Benchmark
+    public void select(Blackhole blackhole) throws Throwable {
+        blackhole.consume((double) Algorithms.SELECT.invokeExact(work, 0, n - 1, k));
+    }
+
+    @Benchmark
+    public void introSelect(Blackhole blackhole) throws Throwable {
+        blackhole.consume((double) Algorithms.INTRO_SELECT.invokeExact(work, 0, n - 1, k));
+    }
+
+    @Benchmark
+    public void selectReadOnly(Blackhole blackhole) throws Throwable {
+        blackhole.consume((double) Algorithms.SELECT_READ_ONLY.invokeExact(input, k));
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * MergeSort, QuickSort and RadixSort on a fresh copy of the input per call.
+ * The copy is made in a Level.Invocation setup, outside the measured region; n starts at 10^5
+ * so a call takes well over the millisecond that per-invocation setup needs to stay accurate.
+ * QuickSort's default Lomuto scheme is left out: it is quadratic on FEW_UNIQUE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortBenchmarks {
+
+    @Param({"100000", "1000000"})
+    int n;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    Inputs.Distribution distribution;
+
+    private double[] input;
+    private double[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        input = Inputs.generate(distribution, n, 42);
+        work = new double[n];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(input, 0, work, 0, n);
+    }
+
+    @Benchmark
+    public void mergeSort(Blackhole blackhole) throws Throwable {
+        Algorithms.MERGE_SORT.invokeExact(work);
+        blackhole.consume(work);
+    }
+
+    @Benchmark
+    public void mergeSortAdaptive(Blackhole blackhole) throws Throwable {
+        Algorithms.MERGE_SORT_ADAPTIVE.invokeExact(work);
+        blackhole.consume(work);
+    }
+
+    @Benchmark
+    public void quickSortIntro(Blackhole blackhole) throws Throwable {
+        Algorithms.QUICK_SORT_INTRO.invokeExact(work);
+        blackhole.consume(work);
+    }
+
+    @Benchmark
+    public void quickSortNoShuffle(Blackhole blackhole) throws Throwable {
+        Algorithms.QUICK_SORT_NO_SHUFFLE.invokeExact(work);
+        blackhole.consume(work);
+    }
+
+    @Benchmark
+    public void radixSort(Blackhole blackhole) throws Throwable {
+        Algorithms.RADIX_SORT.invokeExact(work);
+        blackhole.consume(work);
+    }
+}